@@ -0,0 +1,134 @@
+package forFun;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Moves defenders toward a target a whole SIMD register at a time, using the incubating
+ * Vector API. A first pass works out each defender's step scale, speed over distance, into a
+ * float column, zero for defenders that stay put; a pass per axis then applies the scaled steps
+ * and clamps. Leftover defenders at the end of each pass run the same float math one at a time.
+ *
+ * <p>Unlike the scalar kernel, this one may allocate. On JDK 17 the JIT sometimes compiles a
+ * Vector API call as a plain call instead of SIMD instructions, depending on the profile it
+ * gathered, and every vector that call returns is then boxed; some runs of a game allocate
+ * on nearly every tick and others not at all. {@link PursuitCheck} reports what it allocates.
+ *
+ * <p>Float rounding can truncate a step to a different whole pixel than the double math in
+ * {@link AIController#SCALAR_KERNEL}, so positions agree only to within
+ * {@link PursuitKernel#TOLERANCE}, and replays recorded with one kernel drift under the other.
+ *
+ * <p>This class lives outside the main source folder because it needs
+ * {@code --add-modules jdk.incubator.vector} to compile and run; {@link AIController} loads it
+ * by name when the {@value AIController#VECTOR_PURSUIT_PROPERTY} property is set.
+ */
+public class VectorPursuitKernel implements PursuitKernel {
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class, FLOATS.vectorShape());
+    /*
+     * The I2F and F2I lane conversions are not compiled to SIMD instructions on JDK 17, where
+     * each one boxes a vector, so the passes convert with MAGIC instead: 1.5 * 2^23, whose
+     * float has the whole part of anything added to it, up to 2^22 in size, in its low bits.
+     * That is far beyond any field coordinate. The arithmetic is written out inline, because
+     * a helper returning a vector boxes it whenever the JIT declines to inline the helper.
+     */
+    private static final float MAGIC = 12582912f;
+    private static final int MAGIC_BITS = Float.floatToRawIntBits(MAGIC);
+
+    // Batch simulations run on several threads at once, so each gets its own scale column
+    private final ThreadLocal<float[]> scaleColumns = ThreadLocal.withInitial(() -> new float[0]);
+
+    /**
+     * Gets the number of defenders moved per vector operation.
+     */
+    public int lanes() {
+        return FLOATS.length();
+    }
+
+    @Override
+    public void move(DefenderStore store, int from, int to, int targetX, int targetY, int maxX, int maxY) {
+        float[] scales = scaleColumns.get();
+        if (scales.length < to) {
+            scales = new float[Math.max(to, scales.length * 2)];
+            scaleColumns.set(scales);
+        }
+        computeScales(store, scales, from, to, targetX, targetY);
+        moveAxis(store.getXs(), scales, from, to, targetX, maxX);
+        moveAxis(store.getYs(), scales, from, to, targetY, maxY);
+    }
+
+    /**
+     * Stores speed over distance to the target for each defender, or zero if it is stopped or
+     * already on the target.
+     */
+    private static void computeScales(DefenderStore store, float[] scales, int from, int to,
+                                      int targetX, int targetY) {
+        int[] xs = store.getXs();
+        int[] ys = store.getYs();
+        int[] speeds = store.getSpeeds();
+        int[] stuckTimers = store.getStuckTimers();
+
+        int i = from;
+        int upper = from + INTS.loopBound(to - from);
+        for (; i < upper; i += INTS.length()) {
+            FloatVector dx = IntVector.fromArray(INTS, xs, i).neg().add(targetX + MAGIC_BITS)
+                    .reinterpretAsFloats().sub(MAGIC);
+            FloatVector dy = IntVector.fromArray(INTS, ys, i).neg().add(targetY + MAGIC_BITS)
+                    .reinterpretAsFloats().sub(MAGIC);
+            FloatVector speed = IntVector.fromArray(INTS, speeds, i).add(MAGIC_BITS)
+                    .reinterpretAsFloats().sub(MAGIC);
+            FloatVector distanceSquared = dx.mul(dx).add(dy.mul(dy));
+            FloatVector scale = speed.div(distanceSquared.sqrt());
+            // On the target the scale is infinite; zeroing it there keeps the defender put.
+            // Timers are compared as floats to get a mask over the float lanes; a zero int is 0f.
+            VectorMask<Float> moving = IntVector.fromArray(INTS, stuckTimers, i).reinterpretAsFloats()
+                    .compare(VectorOperators.EQ, 0f).and(distanceSquared.compare(VectorOperators.GT, 0f));
+            FloatVector.zero(FLOATS).blend(scale, moving).intoArray(scales, i);
+        }
+
+        for (; i < to; i++) {
+            float dx = targetX - xs[i];
+            float dy = targetY - ys[i];
+            float distanceSquared = dx * dx + dy * dy;
+            scales[i] = stuckTimers[i] == 0 && distanceSquared > 0
+                    ? speeds[i] / (float) Math.sqrt(distanceSquared) : 0f;
+        }
+    }
+
+    /**
+     * Moves each defender with a non-zero scale along one axis by its scaled distance to the
+     * target, dropping the fraction, and clamps it to the field.
+     */
+    private static void moveAxis(int[] positions, float[] scales, int from, int to, int target, int max) {
+        int i = from;
+        int upper = from + INTS.loopBound(to - from);
+        for (; i < upper; i += INTS.length()) {
+            IntVector position = IntVector.fromArray(INTS, positions, i);
+            FloatVector scale = FloatVector.fromArray(FLOATS, scales, i);
+            IntVector offset = position.neg().add(target);
+            // Step by the distance's magnitude rounded down, then put its sign back
+            FloatVector distance = offset.abs().add(MAGIC_BITS).reinterpretAsFloats().sub(MAGIC).mul(scale);
+            FloatVector shifted = distance.add(MAGIC);
+            // The sign bit of the rounding error is set where adding MAGIC rounded up
+            IntVector roundedUp = distance.sub(shifted.sub(MAGIC)).reinterpretAsInts()
+                    .lanewise(VectorOperators.ASHR, 31);
+            IntVector magnitude = shifted.reinterpretAsInts().sub(MAGIC_BITS).add(roundedUp);
+            IntVector negative = offset.lanewise(VectorOperators.ASHR, 31);
+            IntVector step = magnitude.lanewise(VectorOperators.XOR, negative).sub(negative);
+            // A positive float's bits are a positive int, so this is the scale > 0 test
+            IntVector scaleBits = scale.reinterpretAsInts();
+            position.blend(position.add(step).max(0).min(max), scaleBits.compare(VectorOperators.GT, 0))
+                    .intoArray(positions, i);
+        }
+
+        for (; i < to; i++) {
+            if (scales[i] > 0) {
+                float offset = target - positions[i];
+                positions[i] = Math.max(0, Math.min(max, positions[i] + (int) (offset * scales[i])));
+            }
+        }
+    }
+}
@@ -1,61 +1,142 @@
 package forFun;
 
-import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Moves the defenders each tick.
+ * The update runs as a few passes over the {@link DefenderStore} columns rather than one
+ * pass doing everything per defender: timers, then blocker contact, then movement, then the
+ * grid rebuild. Each pass is a tight loop over primitive arrays, which keeps crowds of
+ * thousands well inside a frame.
+ * The movement pass is a {@link PursuitKernel}: the scalar one below by default, or a SIMD one
+ * built on the Vector API when the {@value #VECTOR_PURSUIT_PROPERTY} property is set and the
+ * JVM was started with {@code --add-modules jdk.incubator.vector}.
+ */
 public class AIController {
-    
-    public static void updateDefenders(Defenders defenders, int playerX, int playerY, 
-                                     int frameWidth, int frameHeight, ArrayList<Player> blockers) {
-        for (Defenders.Defender defender : defenders.getDefenders()) {
-            defender.reduceStuckTimer();
-            
-            // Skip movement if defender is stopped
-            if (defender.isStopped()) {
-                continue;
+    public static final String VECTOR_PURSUIT_PROPERTY = "football.vectorPursuit";
+    static final String VECTOR_KERNEL_CLASS = "forFun.VectorPursuitKernel";
+
+    /**
+     * The reference pursuit, in double math. Replays are only exact with this kernel.
+     */
+    public static final PursuitKernel SCALAR_KERNEL = AIController::pursue;
+
+    private static final PursuitKernel kernel = Boolean.getBoolean(VECTOR_PURSUIT_PROPERTY)
+            ? orScalar(loadVectorKernel()) : SCALAR_KERNEL;
+
+    public static void updateDefenders(Defenders defenders, int playerX, int playerY,
+                                     int frameWidth, int frameHeight, List<Player> blockers) {
+        DefenderStore store = defenders.getStore();
+        int count = store.size();
+        int[] xs = store.getXs();
+        int[] ys = store.getYs();
+        int[] stuckTimers = store.getStuckTimers();
+
+        for (int i = 0; i < count; i++) {
+            if (stuckTimers[i] > 0) {
+                stuckTimers[i]--;
             }
-            
-            // Check for blocker collisions
-            boolean collisionWithBlocker = false;
-            for (Player blocker : blockers) {
-                if (checkDefenderBlockerCollision(defender, blocker)) {
-                    defender.setStopped(GameConstants.STUCK_DURATION);
-                    collisionWithBlocker = true;
-                    break;
+        }
+
+        // Defenders have not moved since the grid was last built, so it finds them by position
+        stopDefendersTouchingBlockers(store, defenders.getDefenderGrid(), blockers);
+
+        int maxX = frameWidth - GameConstants.DEFENDER_SIZE;
+        int maxY = frameHeight - GameConstants.DEFENDER_SIZE;
+        kernel.move(store, 0, count, playerX, playerY, maxX, maxY);
+
+        SpatialHash defenderGrid = defenders.getDefenderGrid();
+        defenderGrid.clear(frameWidth, frameHeight);
+        for (int i = 0; i < count; i++) {
+            defenderGrid.insert(i, xs[i], ys[i]);
+        }
+    }
+
+    /**
+     * Stops every moving defender that touches a blocker.
+     * Only the grid cells around each blocker are visited, so the cost follows the number
+     * of blockers rather than the size of the crowd.
+     */
+    private static void stopDefendersTouchingBlockers(DefenderStore store, SpatialHash defenderGrid,
+                                                    List<Player> blockers) {
+        int[] xs = store.getXs();
+        int[] ys = store.getYs();
+        int[] stuckTimers = store.getStuckTimers();
+        for (int b = 0; b < blockers.size(); b++) {
+            Player blocker = blockers.get(b);
+            int column = defenderGrid.cellColumn(blocker.getX());
+            int row = defenderGrid.cellRow(blocker.getY());
+            for (int r = row - 1; r <= row + 1; r++) {
+                for (int c = column - 1; c <= column + 1; c++) {
+                    for (int slot = defenderGrid.firstSlot(c, r); slot != -1; slot = defenderGrid.nextSlot(slot)) {
+                        int index = defenderGrid.idAt(slot);
+                        if (stuckTimers[index] == 0 && checkDefenderBlockerCollision(xs[index], ys[index], blocker)) {
+                            stuckTimers[index] = GameConstants.STUCK_DURATION;
+                        }
+                    }
                 }
             }
-            
-            // Move toward player if not colliding with blocker
-            if (!collisionWithBlocker) {
-                moveDefender(defender, playerX, playerY, frameWidth, frameHeight);
-            }
         }
     }
-    
-    private static boolean checkDefenderBlockerCollision(Defenders.Defender defender, Player blocker) {
-        int dx = blocker.getX() - defender.getX();
-        int dy = blocker.getY() - defender.getY();
+
+    private static boolean checkDefenderBlockerCollision(int defenderX, int defenderY, Player blocker) {
+        int dx = blocker.getX() - defenderX;
+        int dy = blocker.getY() - defenderY;
         int distanceSquared = dx * dx + dy * dy;
         int collisionDistance = (GameConstants.DEFENDER_SIZE + GameConstants.BLOCKER_SIZE) / 2;
         collisionDistance *= collisionDistance; // Square for comparison
-        
+
         return distanceSquared < collisionDistance;
     }
-    
-    private static void moveDefender(Defenders.Defender defender, int playerX, int playerY, 
+
+    /**
+     * Moves one defender in the store a step toward the player.
+     */
+    static void moveDefender(DefenderStore store, int index, int playerX, int playerY,
                                    int frameWidth, int frameHeight) {
-        double dx = playerX - defender.getX();
-        double dy = playerY - defender.getY();
-        double distance = Math.sqrt(dx * dx + dy * dy);
-        
-        if (distance > 0) {
-            dx = (dx / distance) * defender.getSpeed();
-            dy = (dy / distance) * defender.getSpeed();
-            
-            int newX = Math.max(0, Math.min(frameWidth - GameConstants.DEFENDER_SIZE, defender.getX() + (int) dx));
-            int newY = Math.max(0, Math.min(frameHeight - GameConstants.DEFENDER_SIZE, defender.getY() + (int) dy));
-            
-            defender.setX(newX);
-            defender.setY(newY);
+        pursue(store, index, index + 1, playerX, playerY,
+                frameWidth - GameConstants.DEFENDER_SIZE, frameHeight - GameConstants.DEFENDER_SIZE);
+    }
+
+    /**
+     * Loads the Vector API kernel, which is compiled separately and needs the incubator module.
+     *
+     * @return the kernel, or null if it is not on the classpath or the module is missing
+     */
+    static PursuitKernel loadVectorKernel() {
+        try {
+            return (PursuitKernel) Class.forName(VECTOR_KERNEL_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            System.err.println("Vector pursuit unavailable, using scalar pursuit: " + e);
+            return null;
+        }
+    }
+
+    private static PursuitKernel orScalar(PursuitKernel vectorKernel) {
+        return vectorKernel != null ? vectorKernel : SCALAR_KERNEL;
+    }
+
+    /**
+     * Moves each defender in the range that isn't stopped a step toward the target.
+     */
+    private static void pursue(DefenderStore store, int from, int to, int targetX, int targetY, int maxX, int maxY) {
+        int[] xs = store.getXs();
+        int[] ys = store.getYs();
+        int[] speeds = store.getSpeeds();
+        int[] stuckTimers = store.getStuckTimers();
+        for (int i = from; i < to; i++) {
+            // Skip movement if defender is stopped
+            if (stuckTimers[i] == 0) {
+                double dx = targetX - xs[i];
+                double dy = targetY - ys[i];
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                if (distance > 0) {
+                    dx = (dx / distance) * speeds[i];
+                    dy = (dy / distance) * speeds[i];
+                    xs[i] = Math.max(0, Math.min(maxX, xs[i] + (int) dx));
+                    ys[i] = Math.max(0, Math.min(maxY, ys[i] + (int) dy));
+                }
+            }
         }
     }
 }
\ No newline at end of file
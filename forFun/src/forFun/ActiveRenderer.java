@@ -0,0 +1,141 @@
+package forFun;
+
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.ImageCapabilities;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+import javax.swing.JLabel;
+
+/**
+ * Actively renders the playfield on its own thread through a page-flipped BufferStrategy.
+ * Field, players and HUD text are drawn in a single pass each frame instead of
+ * relying on Swing to coalesce repaint requests.
+ */
+public class ActiveRenderer extends Canvas implements Runnable {
+    private static final long serialVersionUID = 1L;
+    private static final long FRAME_NANOS = GameConstants.GAME_LOOP_DELAY * 1_000_000L;
+
+    private final Draw draw;
+    private final JLabel levelLabel;
+    private final JLabel messageLabel;
+    private final FrameStats frameStats = new FrameStats("active");
+    private volatile boolean running;
+    private Thread renderThread;
+
+    /**
+     * Creates a renderer for the given playfield.
+     *
+     * @param draw the panel whose render method draws the field and players
+     * @param levelLabel the label whose bounds and font the level and score text is drawn with
+     * @param messageLabel the label whose bounds and font the current game message is drawn with
+     */
+    public ActiveRenderer(Draw draw, JLabel levelLabel, JLabel messageLabel) {
+        this.draw = draw;
+        this.levelLabel = levelLabel;
+        this.messageLabel = messageLabel;
+        setIgnoreRepaint(true);
+        setFocusable(false); // Keep key bindings on the Swing content pane
+    }
+
+    /**
+     * Creates the buffer strategy and starts the render thread.
+     * The canvas must already be added to a displayable frame.
+     */
+    public void start() {
+        try {
+            createBufferStrategy(2, new BufferCapabilities(new ImageCapabilities(true),
+                    new ImageCapabilities(true), BufferCapabilities.FlipContents.UNDEFINED));
+        } catch (AWTException e) {
+            // Page flipping needs full-screen exclusive mode; let AWT pick the best fallback
+            createBufferStrategy(2);
+        }
+        running = true;
+        renderThread = new Thread(this, "ActiveRenderer");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    /**
+     * Stops the render thread and waits for it to finish its current frame.
+     */
+    public void stop() {
+        running = false;
+        if (renderThread != null && renderThread != Thread.currentThread()) {
+            try {
+                renderThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        long nextFrame = System.nanoTime();
+        while (running) {
+            long frameStart = System.nanoTime();
+            renderFrame();
+            frameStats.record(frameStart, System.nanoTime() - frameStart);
+
+            nextFrame += FRAME_NANOS;
+            long wait = nextFrame - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                nextFrame = System.nanoTime(); // Fell behind; don't try to catch up
+            }
+        }
+    }
+
+    private void renderFrame() {
+        if (!isDisplayable()) {
+            running = false; // The frame was disposed, e.g. on restart from the pause menu
+            return;
+        }
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null) {
+            return;
+        }
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+                try {
+                    draw.render(g, getWidth(), getHeight());
+                    drawLabel(g, levelLabel, draw.getLevelText(), levelLabel.getForeground());
+                    drawLabel(g, messageLabel, draw.getMessageText(), draw.getMessageColor());
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    /**
+     * Draws text centered in a label's bounds and in its font, as the label itself would.
+     */
+    private void drawLabel(Graphics g, JLabel label, String text, Color color) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        Rectangle bounds = label.getBounds();
+        g.setFont(label.getFont());
+        g.setColor(color);
+        FontMetrics metrics = g.getFontMetrics();
+        int x = bounds.x + (bounds.width - metrics.stringWidth(text)) / 2;
+        int y = bounds.y + (bounds.height - metrics.getHeight()) / 2 + metrics.getAscent();
+        g.drawString(text, x, y);
+    }
+
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+}
@@ -0,0 +1,108 @@
+package forFun;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Checks that a steady-state simulation tick does not allocate.
+ * Plays autopilot games, warms up the JIT, then measures the bytes allocated by each tick
+ * that neither starts nor ends a level. Exits with status 1 if they allocated.
+ *
+ * <p>When the JIT deoptimizes a method it has to rematerialize objects it had scalar-replaced,
+ * which shows up as a one-off allocation, so a few isolated ticks are tolerated. Run with
+ * {@code -Xint} for a strict check of the bytecode itself.
+ *
+ * <p>Usage: {@code java forFun.AllocationCheck [ticks]}
+ */
+public class AllocationCheck {
+    private static final int WARMUP_TICKS = 50000;
+    private static final int DEFAULT_TICKS = 20000;
+    private static final int START_LEVEL = 8;
+    private static final int EXTRA_BLOCKERS = 4;
+
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKS;
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("Allocation check skipped: per-thread allocation counting is not supported.");
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Autopilot autopilot = new Autopilot();
+        GameSimulation simulation = newSimulation(42);
+        runTicks(simulation, autopilot, WARMUP_TICKS);
+
+        long overhead = measureOverhead(threads);
+        long[] result = new long[2];
+        runTicks(simulation, autopilot, ticks, overhead, threads, result);
+
+        long tolerated = ticks / 1000;
+        if (result[0] > tolerated) {
+            System.err.println("FAILED: " + result[0] + " of " + ticks + " steady-state ticks allocated, "
+                    + result[1] + " bytes in total");
+            System.exit(1);
+        }
+        System.out.println("OK: " + ticks + " steady-state ticks ran without allocating"
+                + (result[0] > 0 ? " (" + result[0] + " isolated JIT allocations tolerated)" : ""));
+    }
+
+    private static GameSimulation newSimulation(long seed) {
+        GameState gameState = new GameState();
+        for (int i = 1; i < START_LEVEL; i++) {
+            gameState.levelUp();
+        }
+        for (int i = 0; i < EXTRA_BLOCKERS; i++) {
+            gameState.upgradeBlocker();
+        }
+        Player player = PlayerFactory.createPlayer("CHECK", gameState);
+        GameSimulation simulation = new GameSimulation(gameState, player,
+                GameConstants.DEFAULT_FRAME_WIDTH, GameConstants.DEFAULT_FRAME_HEIGHT, seed);
+        simulation.startLevel();
+        return simulation;
+    }
+
+    private static void runTicks(GameSimulation simulation, Autopilot autopilot, int ticks) {
+        runTicks(simulation, autopilot, ticks, 0, null, null);
+    }
+
+    /**
+     * Runs ticks, restarting the level whenever it ends. When a thread bean is given,
+     * counts the ticks that allocated more than the measurement overhead.
+     */
+    private static void runTicks(GameSimulation simulation, Autopilot autopilot, int ticks, long overhead,
+            com.sun.management.ThreadMXBean threads, long[] result) {
+        for (int i = 0; i < ticks; i++) {
+            if (simulation.getOutcome() != GameSimulation.Outcome.RUNNING) {
+                simulation.startLevel();
+                continue;
+            }
+            autopilot.apply(simulation);
+
+            if (threads == null) {
+                simulation.step(1);
+                continue;
+            }
+            long before = threads.getCurrentThreadAllocatedBytes();
+            simulation.step(1);
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before - overhead;
+            if (allocated > 0 && simulation.getOutcome() == GameSimulation.Outcome.RUNNING) {
+                result[0]++;
+                result[1] += allocated;
+            }
+        }
+    }
+
+    /**
+     * Measures what reading the allocation counter itself costs.
+     */
+    static long measureOverhead(com.sun.management.ThreadMXBean threads) {
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            overhead = Math.min(overhead, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+        return overhead;
+    }
+}
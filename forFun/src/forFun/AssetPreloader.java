@@ -0,0 +1,92 @@
+package forFun;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.UIManager;
+
+/**
+ * Loads audio, fonts, the field images and the run history on a few background threads while
+ * the menu is already showing, so the first level starts without a hitch and game over does
+ * not wait on the disk. Each task's time goes to the {@link StartupProfiler}.
+ */
+public class AssetPreloader {
+    private static final int THREADS = 3;
+
+    private AssetPreloader() {
+    }
+
+    /**
+     * Starts preloading for the given frame. Returns immediately.
+     */
+    public static void start(MyFrame frame) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS, task -> {
+            Thread thread = new Thread(task, "Preload-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1); // Stay out of the way of the menu
+            return thread;
+        });
+
+        // The playfield is a JPanel covering the frame, so its field text uses the panel font
+        GraphicsConfiguration config = frame.getGraphicsConfiguration();
+        Font panelFont = UIManager.getFont("Panel.font");
+        int width = frame.getWidth();
+        int height = frame.getHeight();
+
+        submit(executor, "audio", () -> {
+            SoundManager.getInstance().preloadMusic();
+            SfxMixer.getInstance().start();
+        });
+        submit(executor, "fonts", () -> preloadText(panelFont));
+        submit(executor, "run history", () -> RunHistory.getInstance().load());
+        submit(executor, "field", () -> {
+            if (width > 0 && height > 0) {
+                FieldRenderer renderer = new FieldRenderer();
+                renderer.getFieldImage(config, panelFont, width, height, false);
+                renderer.getFieldImage(config, panelFont, width, height, true);
+            }
+        });
+        executor.shutdown();
+    }
+
+    private static void submit(ExecutorService executor, String name, Runnable task) {
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Error preloading " + name + ": " + e.getMessage());
+            }
+            StartupProfiler.recordTask(name, System.nanoTime() - start);
+        });
+    }
+
+    /**
+     * Derives the in-game fonts and renders the fixed HUD labels into the text cache.
+     */
+    private static void preloadText(Font base) {
+        TextCache cache = TextCache.getInstance();
+        cache.getFont(base, 20f, Font.PLAIN);
+        cache.getFont(base, 12f, Font.PLAIN);
+
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scratch.createGraphics();
+        try {
+            g.setFont(base);
+            cache.drawText(g, "T", 0, 0, 12f, Font.BOLD, Color.WHITE);
+            cache.drawText(g, "ACTIVE", 0, 0, 10f, Font.BOLD, Color.WHITE);
+            cache.drawText(g, "TRUCK [T]", 0, 0, 10f, Font.PLAIN, Color.WHITE);
+            cache.drawText(g, "TRUCK [T]", 0, 0, 10f, Font.BOLD, Color.WHITE);
+            cache.drawText(g, "LOCKED", 0, 0, 10f, Font.PLAIN, Color.GRAY);
+            cache.drawText(g, "TRUCK!", 0, 0, 12f, Font.BOLD, Color.ORANGE);
+        } finally {
+            g.dispose();
+        }
+    }
+}
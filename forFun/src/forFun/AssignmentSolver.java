@@ -0,0 +1,127 @@
+package forFun;
+
+import java.util.Arrays;
+
+/**
+ * Minimum-cost assignment of rows to columns using the Hungarian method.
+ * Works on rectangular matrices: every row is matched when there are at least as many
+ * columns as rows, otherwise every column is. Runs in O(n^2 * m) for n = min(rows, cols)
+ * and m = max(rows, cols), and reuses its buffers so solving every tick does not allocate.
+ */
+public class AssignmentSolver {
+    private double[] cost = new double[0];
+    private int rows;
+    private int cols;
+
+    private double[] u = new double[1];
+    private double[] v = new double[1];
+    private double[] minv = new double[1];
+    private int[] p = new int[1];
+    private int[] way = new int[1];
+    private boolean[] used = new boolean[1];
+    private int[] rowMatch = new int[0];
+
+    /**
+     * Prepares an empty cost matrix of the given size.
+     */
+    public void reset(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        if (cost.length < rows * cols) {
+            cost = new double[rows * cols];
+        }
+        int n = Math.min(rows, cols) + 1;
+        int m = Math.max(rows, cols) + 1;
+        if (u.length < n) {
+            u = new double[n];
+        }
+        if (v.length < m) {
+            v = new double[m];
+            minv = new double[m];
+            p = new int[m];
+            way = new int[m];
+            used = new boolean[m];
+        }
+        if (rowMatch.length < rows) {
+            rowMatch = new int[rows];
+        }
+    }
+
+    public void setCost(int row, int col, double value) {
+        cost[row * cols + col] = value;
+    }
+
+    /**
+     * Solves the assignment for the current matrix.
+     *
+     * @return an array whose first {@code rows} entries hold each row's column, or -1 if unmatched
+     */
+    public int[] solve() {
+        boolean transposed = rows > cols;
+        int n = transposed ? cols : rows;
+        int m = transposed ? rows : cols;
+
+        Arrays.fill(u, 0, n + 1, 0);
+        Arrays.fill(v, 0, m + 1, 0);
+        Arrays.fill(p, 0, m + 1, 0);
+        Arrays.fill(way, 0, m + 1, 0);
+
+        for (int i = 1; i <= n; i++) {
+            p[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, 0, m + 1, Double.MAX_VALUE);
+            Arrays.fill(used, 0, m + 1, false);
+
+            do {
+                used[j0] = true;
+                int i0 = p[j0];
+                double delta = Double.MAX_VALUE;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (!used[j]) {
+                        double current = cost(transposed, i0 - 1, j - 1) - u[i0] - v[j];
+                        if (current < minv[j]) {
+                            minv[j] = current;
+                            way[j] = j0;
+                        }
+                        if (minv[j] < delta) {
+                            delta = minv[j];
+                            j1 = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+
+            do {
+                int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        Arrays.fill(rowMatch, 0, rows, -1);
+        for (int j = 1; j <= m; j++) {
+            if (p[j] != 0) {
+                if (transposed) {
+                    rowMatch[j - 1] = p[j] - 1;
+                } else {
+                    rowMatch[p[j] - 1] = j - 1;
+                }
+            }
+        }
+        return rowMatch;
+    }
+
+    private double cost(boolean transposed, int i, int j) {
+        return transposed ? cost[j * cols + i] : cost[i * cols + j];
+    }
+}
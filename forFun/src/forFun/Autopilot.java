@@ -0,0 +1,97 @@
+package forFun;
+
+/**
+ * Scripted stand-in for a human player, used to play headless games.
+ * Runs toward the end zone and sidesteps the closest defender ahead of it.
+ */
+public class Autopilot {
+    private static final int THREAT_RANGE = 150;
+    private static final int BOOST_RANGE = 80;
+    private static final int EDGE_MARGIN = 40;
+
+    /**
+     * Sets the player's movement keys for the next tick.
+     *
+     * @param simulation the simulation being played
+     */
+    public void apply(GameSimulation simulation) {
+        Player player = simulation.getPlayer();
+        Defenders.Defender threat = findThreat(player, simulation.getDefenders());
+
+        player.setMovingRight(true);
+        player.setMovingLeft(false);
+        player.setMovingUp(false);
+        player.setMovingDown(false);
+        player.setBoosting(false);
+
+        if (threat == null) {
+            return;
+        }
+
+        boolean dodgeUp = threat.getY() >= player.getY();
+        if (dodgeUp && player.getY() < EDGE_MARGIN) {
+            dodgeUp = false;
+        } else if (!dodgeUp && player.getY() > simulation.getFieldHeight() - GameConstants.PLAYER_SIZE - EDGE_MARGIN) {
+            dodgeUp = true;
+        }
+        player.setMovingUp(dodgeUp);
+        player.setMovingDown(!dodgeUp);
+
+        int dx = threat.getX() - player.getX();
+        int dy = threat.getY() - player.getY();
+        player.setBoosting(player.canBoost() && dx * dx + dy * dy < BOOST_RANGE * BOOST_RANGE);
+    }
+
+    /**
+     * Applies the between-level upgrade a scripted player would pick.
+     * Alternates speed, strength and stamina, and buys a blocker when affordable.
+     *
+     * @param gameState the game state to upgrade
+     * @param player the player whose attributes follow the game state
+     */
+    public void chooseUpgrade(GameState gameState, Player player) {
+        switch (gameState.getLevel() % 3) {
+            case 0:
+                gameState.upgradeSpeed();
+                break;
+            case 1:
+                gameState.upgradeStrength();
+                break;
+            default:
+                gameState.upgradeStamina();
+                break;
+        }
+        if (gameState.deductPoints(1000)) {
+            gameState.upgradeBlocker();
+        }
+
+        player.setSpeed(gameState.getPlayerSpeed());
+        player.setStrength(gameState.getPlayerStrength());
+        player.setStamina(gameState.getPlayerStamina());
+        player.resetMovement();
+        player.setBoosting(false);
+        player.resetStamina();
+    }
+
+    /**
+     * Finds the closest active defender that is not already behind the player.
+     */
+    private Defenders.Defender findThreat(Player player, Defenders defenders) {
+        Defenders.Defender closest = null;
+        int closestDistance = THREAT_RANGE * THREAT_RANGE;
+
+        for (Defenders.Defender defender : defenders.getDefenders()) {
+            if (defender.isStopped() || defender.getX() + GameConstants.DEFENDER_SIZE < player.getX()) {
+                continue;
+            }
+            int dx = defender.getX() - player.getX();
+            int dy = defender.getY() - player.getY();
+            int distance = dx * dx + dy * dy;
+            if (distance < closestDistance) {
+                closestDistance = distance;
+                closest = defender;
+            }
+        }
+        return closest;
+    }
+}
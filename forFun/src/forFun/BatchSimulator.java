@@ -0,0 +1,205 @@
+package forFun;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays many headless games on all cores and writes per-level balance statistics to a CSV.
+ * Every game is seeded from its index, so the summary does not depend on the thread count.
+ *
+ * <p>Usage: {@code java forFun.BatchSimulator [games] [threads] [maxLevel] [seed] [output.csv]}
+ */
+public class BatchSimulator {
+    private static final int DEFAULT_GAMES = 10000;
+    private static final int DEFAULT_MAX_LEVEL = 50;
+    private static final long DEFAULT_SEED = 1L;
+    private static final String DEFAULT_OUTPUT = "balance_sweep.csv";
+    private static final int GAMES_PER_TASK = 256;
+    private static final int MAX_TICKS_PER_LEVEL = 60 * 60; // one minute at 60 FPS
+
+    /**
+     * Per-level counters for a batch of games.
+     */
+    public static class LevelStats {
+        private final long[] attempts;
+        private final long[] wins;
+        private final long[] tackles;
+        private final long[] timeouts;
+        private final long[] winTicks;
+        private final long[] tackleAttempts;
+        private final long[] brokenTackles;
+
+        public LevelStats(int maxLevel) {
+            attempts = new long[maxLevel + 1];
+            wins = new long[maxLevel + 1];
+            tackles = new long[maxLevel + 1];
+            timeouts = new long[maxLevel + 1];
+            winTicks = new long[maxLevel + 1];
+            tackleAttempts = new long[maxLevel + 1];
+            brokenTackles = new long[maxLevel + 1];
+        }
+
+        /**
+         * Adds another batch's counters to this one.
+         */
+        public void merge(LevelStats other) {
+            for (int level = 0; level < attempts.length; level++) {
+                attempts[level] += other.attempts[level];
+                wins[level] += other.wins[level];
+                tackles[level] += other.tackles[level];
+                timeouts[level] += other.timeouts[level];
+                winTicks[level] += other.winTicks[level];
+                tackleAttempts[level] += other.tackleAttempts[level];
+                brokenTackles[level] += other.brokenTackles[level];
+            }
+        }
+
+        public long getTotalLevelsPlayed() {
+            long total = 0;
+            for (long count : attempts) {
+                total += count;
+            }
+            return total;
+        }
+
+        /**
+         * Writes one CSV row per level that was reached at least once.
+         */
+        public void writeCsv(PrintWriter writer) {
+            writer.println("level,games,wins,tackles,timeouts,win_rate,tackle_rate,"
+                    + "tackle_attempts,broken_tackles,avg_ticks_to_end_zone");
+            for (int level = 1; level < attempts.length; level++) {
+                if (attempts[level] == 0) {
+                    continue;
+                }
+                double winRate = (double) wins[level] / attempts[level];
+                double tackleRate = (double) tackles[level] / attempts[level];
+                double avgTicks = wins[level] == 0 ? 0 : (double) winTicks[level] / wins[level];
+                writer.println(String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%.4f,%.4f,%d,%d,%.1f",
+                        level, attempts[level], wins[level], tackles[level], timeouts[level],
+                        winRate, tackleRate, tackleAttempts[level], brokenTackles[level], avgTicks));
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int maxLevel = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_LEVEL;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_SEED;
+        String output = args.length > 4 ? args[4] : DEFAULT_OUTPUT;
+
+        long start = System.nanoTime();
+        LevelStats stats = run(games, threads, maxLevel, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(output))) {
+            stats.writeCsv(writer);
+        } catch (IOException e) {
+            System.err.println("Error writing balance sweep to " + output + ": " + e.getMessage());
+        }
+
+        long levels = stats.getTotalLevelsPlayed();
+        System.out.println(String.format(Locale.ROOT, "Played %d games (%d levels) on %d threads in %.2fs: %.0f levels/min",
+                games, levels, threads, seconds, levels / seconds * 60));
+        System.out.println("Results written to: " + output);
+    }
+
+    /**
+     * Plays the given number of games and returns their combined statistics.
+     *
+     * @param games the number of games to play
+     * @param threads the number of worker threads
+     * @param maxLevel the level at which a game stops even if it is still going
+     * @param seed the base seed that every game's seed is derived from
+     * @return the combined per-level statistics
+     */
+    public static LevelStats run(int games, int threads, int maxLevel, long seed) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<LevelStats>> results = new ArrayList<>();
+        try {
+            for (int first = 0; first < games; first += GAMES_PER_TASK) {
+                int from = first;
+                int to = Math.min(games, first + GAMES_PER_TASK);
+                results.add(executor.submit(() -> playGames(from, to, maxLevel, seed)));
+            }
+
+            LevelStats total = new LevelStats(maxLevel);
+            for (Future<LevelStats> result : results) {
+                total.merge(result.get());
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch simulation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static LevelStats playGames(int from, int to, int maxLevel, long seed) {
+        LevelStats stats = new LevelStats(maxLevel);
+        for (int game = from; game < to; game++) {
+            playGame(new GameRandom(seed + game).nextLong(), maxLevel, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Plays one game with the autopilot until it is tackled, times out or reaches the max level.
+     */
+    private static void playGame(long gameSeed, int maxLevel, LevelStats stats) {
+        GameState gameState = new GameState();
+        Player player = PlayerFactory.createPlayer("AUTOPILOT", gameState);
+        GameSimulation simulation = new GameSimulation(gameState, player,
+                GameConstants.DEFAULT_FRAME_WIDTH, GameConstants.DEFAULT_FRAME_HEIGHT, gameSeed);
+        Autopilot autopilot = new Autopilot();
+
+        simulation.setListener(new GameEventListener() {
+            @Override
+            public void onTackleAttempt(boolean broken) {
+                int level = gameState.getLevel();
+                stats.tackleAttempts[level]++;
+                if (broken) {
+                    stats.brokenTackles[level]++;
+                }
+            }
+        });
+
+        while (gameState.getLevel() <= maxLevel) {
+            int level = gameState.getLevel();
+            simulation.startLevel();
+            stats.attempts[level]++;
+
+            while (simulation.getOutcome() == GameSimulation.Outcome.RUNNING
+                    && simulation.getLevelTicks() < MAX_TICKS_PER_LEVEL) {
+                autopilot.apply(simulation);
+                simulation.step(1);
+            }
+
+            switch (simulation.getOutcome()) {
+                case LEVEL_COMPLETE:
+                    stats.wins[level]++;
+                    stats.winTicks[level] += simulation.getLevelTicks();
+                    autopilot.chooseUpgrade(gameState, player);
+                    break;
+                case TACKLED:
+                    stats.tackles[level]++;
+                    return;
+                default:
+                    stats.timeouts[level]++;
+                    return;
+            }
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package forFun;
 
 import java.awt.Color;
-import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.io.File;
+import java.util.Arrays;
 import javax.swing.JDialog;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
@@ -13,14 +16,33 @@ import javax.swing.WindowConstants;
  * Handles button actions and game flow control.
  */
 public class ButtonFunctions {
-    private static final HighScoreManager highScoreManager = new HighScoreManager();
-    private static Timer movementTimer;
+    private static GameLoop gameLoop;
+    private static GameSimulation simulation;
+    private static ActiveRenderer activeRenderer;
+    
+    /** Passes window resizes on to whichever game loop is running. */
+    private static final ComponentAdapter FIELD_SIZE_LISTENER = new ComponentAdapter() {
+        @Override
+        public void componentResized(ComponentEvent e) {
+            if (gameLoop != null) {
+                gameLoop.setFieldSize(e.getComponent().getWidth(), e.getComponent().getHeight());
+            }
+        }
+    };
 
     /**
      * Creates an ActionListener for starting the game.
      */
     public static ActionListener getStartGameAction(MyFrame frame, JLabel[] labels, 
             MyButton[] buttons, String playerName) {
+        return getStartGameAction(frame, labels, buttons, playerName, false);
+    }
+
+    /**
+     * Creates an ActionListener for starting the game, optionally in horde mode.
+     */
+    public static ActionListener getStartGameAction(MyFrame frame, JLabel[] labels, 
+            MyButton[] buttons, String playerName, boolean hordeMode) {
         return e -> {
             // Remove menu elements
             for (JLabel label : labels) {
@@ -34,7 +56,7 @@ public class ButtonFunctions {
             frame.repaint();
 
             // Show tutorial screen and proceed to gameplay when dismissed
-            TutorialScreen tutorial = new TutorialScreen(frame, () -> startGameplay(frame, playerName));
+            TutorialScreen tutorial = new TutorialScreen(frame, () -> startGameplay(frame, playerName, hordeMode));
             tutorial.showTutorialScreen();
         };
     }
@@ -43,14 +65,34 @@ public class ButtonFunctions {
      * Starts the actual gameplay.
      */
     public static void startGameplay(MyFrame frame, String playerName) {
-        startGameplayInternal(frame, playerName, new GameState());
+        startGameplay(frame, playerName, false);
+    }
+
+    /**
+     * Starts the actual gameplay, in horde mode if asked.
+     */
+    public static void startGameplay(MyFrame frame, String playerName, boolean hordeMode) {
+        startGameplayInternal(frame, playerName, newGameState(hordeMode));
     }
 
     /**
      * Starts gameplay directly without menu - for restart functionality
      */
     public static void startGameplayDirect(MyFrame frame, String playerName) {
-        startGameplayInternal(frame, playerName, new GameState());
+        startGameplayDirect(frame, playerName, false);
+    }
+
+    /**
+     * Starts gameplay directly without menu, keeping the mode of the run being restarted.
+     */
+    public static void startGameplayDirect(MyFrame frame, String playerName, boolean hordeMode) {
+        startGameplayInternal(frame, playerName, newGameState(hordeMode));
+    }
+
+    private static GameState newGameState(boolean hordeMode) {
+        GameState gameState = new GameState();
+        gameState.setHordeMode(hordeMode);
+        return gameState;
     }
 
     /**
@@ -62,31 +104,88 @@ public class ButtonFunctions {
         Store.resetStore();
         
         Player player = createPlayer(playerName, gameState);
-        Defenders defenders = new Defenders(frame.getWidth(), frame.getHeight(), gameState.getLevel());
-        Offense offense = new Offense(playerName, frame.getWidth(), frame.getHeight(), defenders, player, gameState.getLevel(), gameState.getBlockerCount());
-        Draw drawPanel = new Draw(offense, defenders);
-        
-        if (Store.isField2Purchased()) {
-            drawPanel.setUseAlternateField(true);
-        }
-        
-        drawPanel.setBounds(0, 0, frame.getWidth(), frame.getHeight());
+        long seed = GameRandom.sessionSeed();
+        System.out.println("Game seed: " + seed);
+        simulation = new GameSimulation(gameState, player, frame.getWidth(), frame.getHeight(), seed);
+        SoundManager.getInstance().setRandom(simulation.getPresentationRandom());
+        simulation.setRecorder(new InputRecorder(seed, player.getName()));
+        simulation.setProfiler(TickProfiler.getInstance());
+        simulation.startLevel();
+        Draw drawPanel = createDrawPanel(frame, simulation);
         MyLabel levelLabel = createLevelLabel(frame, gameState);
         MyLabel messageLabel = createMessageLabel(frame);
         
-        // Use getContentPane() instead of getContentPanel() for proper container management
-        frame.getContentPane().add(drawPanel);
-        frame.getContentPane().add(levelLabel);
-        frame.getContentPane().add(messageLabel);
+        showPlayfield(frame, drawPanel, levelLabel, messageLabel);
         
-        new InputHandler(frame, offense.getMainPlayer(), drawPanel, gameState);
-        startPlayerMovement(offense, defenders, drawPanel, frame, gameState, levelLabel, messageLabel, playerName);
+        new InputHandler(frame, simulation.getPlayer(), drawPanel, gameState);
+        startPlayerMovement(simulation, drawPanel, frame, playerName);
         
         // Force proper layout and repaint
         frame.getContentPane().revalidate();
         frame.getContentPane().repaint();
     }
 
+    /**
+     * Creates the playfield panel for the level the simulation just started,
+     * with a snapshot buffer already holding the level's starting positions.
+     */
+    static Draw createDrawPanel(MyFrame frame, GameSimulation simulation) {
+        SnapshotBuffer snapshots = new SnapshotBuffer();
+        snapshots.publish(simulation, null, null);
+        Draw drawPanel = new Draw(snapshots);
+        
+        if (Store.isField2Purchased()) {
+            drawPanel.setUseAlternateField(true);
+        }
+        drawPanel.setRasterRendering(frame.isRasterRendering());
+        
+        drawPanel.setBounds(0, 0, frame.getWidth(), frame.getHeight());
+        return drawPanel;
+    }
+    
+    /**
+     * Adds the playfield to the frame. With active rendering a render loop draws the
+     * field and the label text itself; otherwise the panel and labels are added for Swing to paint.
+     */
+    static void showPlayfield(MyFrame frame, Draw drawPanel, MyLabel levelLabel, MyLabel messageLabel) {
+        stopActiveRenderer();
+        
+        // Use getContentPane() instead of getContentPanel() for proper container management
+        if (frame.isActiveRendering()) {
+            activeRenderer = new ActiveRenderer(drawPanel, levelLabel, messageLabel);
+            activeRenderer.setBounds(0, 0, frame.getWidth(), frame.getHeight());
+            frame.getContentPane().add(activeRenderer);
+            activeRenderer.start();
+        } else {
+            drawPanel.setHudLabels(levelLabel, messageLabel);
+            frame.getContentPane().add(drawPanel);
+            frame.getContentPane().add(levelLabel);
+            frame.getContentPane().add(messageLabel);
+        }
+        
+        if (!Arrays.asList(frame.getComponentListeners()).contains(FIELD_SIZE_LISTENER)) {
+            frame.addComponentListener(FIELD_SIZE_LISTENER);
+        }
+    }
+    
+    /**
+     * Stops the active render loop, if one is running.
+     */
+    private static void stopActiveRenderer() {
+        if (activeRenderer != null) {
+            activeRenderer.stop();
+            activeRenderer = null;
+        }
+    }
+    
+    /**
+     * Prints frame timing for the rendering path in use, so active and passive modes can be compared.
+     */
+    private static void reportFrameStats(Draw drawPanel) {
+        FrameStats stats = activeRenderer != null ? activeRenderer.getFrameStats() : drawPanel.getFrameStats();
+        System.out.println(stats.getSummary());
+    }
+    
     /**
      * Creates a player with initial attributes based on game state.
      */
@@ -117,84 +216,66 @@ public class ButtonFunctions {
     }
 
     /**
-     * Starts the player movement timer and game logic.
+     * Starts the game loop for the current level, on its own thread or a Swing timer
+     * depending on the frame's settings. The level's end is handled on the event thread.
      */
-    public static void startPlayerMovement(Offense offense, Defenders defenders, Draw drawPanel, 
-            MyFrame frame, GameState gameState, JLabel levelLabel, 
-            JLabel messageLabel, String playerName) {
-        // Stop any existing timer
-        if (movementTimer != null && movementTimer.isRunning()) {
-            movementTimer.stop();
-        }
+    public static void startPlayerMovement(GameSimulation simulation, Draw drawPanel, 
+            MyFrame frame, String playerName) {
+        stopGame();
         
-        movementTimer = new Timer(GameConstants.GAME_LOOP_DELAY, new ActionListener() {
-            private int messageTimer = 0;
-            
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                offense.move(frame.getWidth(), frame.getHeight());
-                defenders.update(offense.getMainPlayer().getX(), offense.getMainPlayer().getY(), 
-                        frame.getWidth(), frame.getHeight(), offense.getBlockers());
-                offense.getMainPlayer().update();
-                
-                // Update level display
-                levelLabel.setText("Level: " + gameState.getLevel() + " | Score: " + gameState.getScore() + " | Points: " + gameState.getPointsScore());
-                
-                // Handle message timer
-                if (messageTimer > 0) {
-                    messageTimer--;
-                    if (messageTimer == 0) {
-                        messageLabel.setText("");
-                    }
-                }
-                
-                if (offense.checkWinCondition(frame.getWidth())) {
-                    movementTimer.stop();
-                    gameState.levelUp();
-                    showLevelComplete(frame, offense.getMainPlayer(), gameState, playerName);
-                } else {
-                    // Check for collision and handle tackle break message
-                    boolean collisionResult = defenders.checkCollisionWithPlayer(
-                            offense.getMainPlayer().getX(), 
-                            offense.getMainPlayer().getY(), 
-                            offense.getMainPlayer(),
-                            messageLabel
-                    );
-                    
-                    if (collisionResult) {
-                        movementTimer.stop();
-                        showGameOver(frame, gameState, playerName);
-                    }
-                }
-                drawPanel.repaint();
+        GameState gameState = simulation.getGameState();
+        gameLoop = GameLoop.create(frame, simulation, drawPanel.getSnapshots(), drawPanel::repaint, outcome -> {
+            reportFrameStats(drawPanel);
+            if (outcome == GameSimulation.Outcome.LEVEL_COMPLETE) {
+                showLevelComplete(frame, simulation.getPlayer(), gameState, playerName);
+            } else {
+                showGameOver(frame, gameState, playerName);
             }
         });
-        movementTimer.start();
+        gameLoop.setFieldSize(frame.getWidth(), frame.getHeight());
+        gameLoop.start();
+    }
+    
+    /**
+     * Stops the current game loop for good, e.g. when leaving the game.
+     */
+    public static void stopGame() {
+        if (gameLoop != null) {
+            gameLoop.stop();
+            gameLoop = null;
+        }
+    }
+    
+    /**
+     * Gets the simulation for the game currently being played.
+     */
+    public static GameSimulation getSimulation() {
+        return simulation;
     }
     
     /**
-     * Pauses the game timer.
+     * Pauses the game loop.
      */
     public static void pauseGame() {
-        if (movementTimer != null && movementTimer.isRunning()) {
-            movementTimer.stop();
+        if (gameLoop != null) {
+            gameLoop.pause();
         }
     }
     
     /**
-     * Resumes the game timer.
+     * Resumes the game loop.
      */
     public static void resumeGame() {
-        if (movementTimer != null && !movementTimer.isRunning()) {
-            movementTimer.start();
+        if (gameLoop != null) {
+            gameLoop.resume();
         }
     }
     
     /**
-     * Checks if the game timer is running.
+     * Checks if the game loop is ticking.
      */
     public static boolean isGameRunning() {
-        return movementTimer != null && movementTimer.isRunning();
+        return gameLoop != null && gameLoop.isRunning();
     }
 
     /**
@@ -236,7 +317,9 @@ public class ButtonFunctions {
         resetMusicState();
         
         // Save high score
+        HighScoreManager highScoreManager = HighScoreManager.getInstance();
         highScoreManager.addHighScore(playerName, gameState.getScore(), gameState.getLevel());
+        saveReplay();
         
         // Get high scores
         String highScoresText = HighScoreManager.getHighScoresTable(highScoreManager.getHighScores());
@@ -244,7 +327,8 @@ public class ButtonFunctions {
         // FIXED: Corrected the message formatting
         String message = "Game Over!\n" +
                         "Final Level: " + gameState.getLevel() + "\n" +
-                        "Final Score: " + gameState.getScore() + "\n\n" +
+                        "Final Score: " + gameState.getScore() + "\n" +
+                        HighScoreManager.getAllTimeRankText(gameState.getScore()) + "\n\n" +
                         highScoresText;
         
         // Use invokeLater to ensure the dialog shows up after the current event processing
@@ -257,7 +341,7 @@ public class ButtonFunctions {
             
             if (choice == 0) {
                 // Restart Game - skip menu and go directly to level 1
-                restartGameDirect(frame, playerName);
+                restartGameDirect(frame, playerName, gameState.isHordeMode());
             } else {
                 // Main Menu - go back to main menu
                 restartGameToMenu(frame);
@@ -266,17 +350,38 @@ public class ButtonFunctions {
     }
     
     /**
-     * Restarts the game directly to level 1, skipping the main menu.
+     * Saves the input recording of the run that just ended, so it can be played back with
+     * {@link ReplayPlayer}. The file is overwritten by each run, in the background through
+     * {@link HighScoreWriter} so the game-over dialog doesn't wait for the disk.
      */
-    private static void restartGameDirect(MyFrame frame, String playerName) {
-        // Stop any running timers
-        if (movementTimer != null && movementTimer.isRunning()) {
-            movementTimer.stop();
+    static void saveReplay() {
+        InputRecorder recorder = simulation != null ? simulation.getRecorder() : null;
+        if (recorder == null) {
+            return;
+        }
+        String replayPath = System.getProperty(InputRecorder.REPLAY_FILE_PROPERTY);
+        File replayFile;
+        if (replayPath != null) {
+            replayFile = new File(replayPath);
+        } else {
+            File gameDir = HighScoreManager.getGameDirectory();
+            replayFile = new File(gameDir != null ? gameDir : new File("."), InputRecorder.DEFAULT_REPLAY_FILE);
         }
+        byte[] replay = recorder.toBytes();
+        HighScoreWriter.getInstance().submit(replayFile.toPath(), replay);
+        System.out.println("Replay of " + replay.length + " bytes queued for " + replayFile.getAbsolutePath());
+    }
+    
+    /**
+     * Restarts the game directly to level 1, skipping the main menu.
+     */
+    private static void restartGameDirect(MyFrame frame, String playerName, boolean hordeMode) {
+        // Stop the game loop
+        stopGame();
         
         // Use invokeLater to ensure this happens after the dialog is closed
         javax.swing.SwingUtilities.invokeLater(() -> {
-            startGameplayDirect(frame, playerName);
+            startGameplayDirect(frame, playerName, hordeMode);
         });
     }
     
@@ -284,10 +389,9 @@ public class ButtonFunctions {
      * Restarts the game and goes back to main menu.
      */
     private static void restartGameToMenu(MyFrame frame) {
-        // Stop any running timers
-        if (movementTimer != null && movementTimer.isRunning()) {
-            movementTimer.stop();
-        }
+        // Stop the game loop
+        stopGame();
+        stopActiveRenderer();
         
         frame.dispose();
         // Create a new game instance which will show the main menu
@@ -1,10 +1,17 @@
 package forFun;
 
-import javax.swing.JLabel;
 import java.awt.Color;
-import java.util.ArrayList;
 
 public class CollisionHandler {
+    private final GameRandom random;
+    
+    public CollisionHandler() {
+        this(new GameRandom(GameRandom.sessionSeed()));
+    }
+    
+    public CollisionHandler(GameRandom random) {
+        this.random = random;
+    }
     
     public boolean checkDefenderBlockerCollision(Defenders.Defender defender, Player blocker) {
         int dx = blocker.getX() - defender.getX();
@@ -15,64 +22,89 @@ public class CollisionHandler {
         return distanceSquared < collisionDistance;
     }
     
-    public boolean checkPlayerDefenderCollision(ArrayList<Defenders.Defender> defenders, 
-            int playerX, int playerY, Player player, JLabel messageLabel, int level) {
+    public boolean checkPlayerDefenderCollision(DefenderStore defenders, SpatialHash defenderGrid, 
+            int playerX, int playerY, Player player, GameEventListener listener, int level) {
     	
     	if (player.getSpecials().isPlayerUntackleable()) {
-            if (messageLabel != null) {
-                messageLabel.setText("TRUCK MODE! UNSTOPPABLE!");
-                messageLabel.setForeground(Color.ORANGE);
-                messageLabel.putClientProperty("messageTimer", GameConstants.MESSAGE_DISPLAY_DURATION);
+            if (listener != null) {
+                listener.onMessage("TRUCK MODE! UNSTOPPABLE!", Color.ORANGE);
             }
             return false; // Player cannot be tackled
         }
         
-        for (Defenders.Defender defender : defenders) {
-            if (!defender.isStopped() && isPlayerTouchingDefender(playerX, playerY, defender)) {
-                return handleTackleAttempt(player, defender, messageLabel, level);
-            }
+        int defender = findTouchingDefender(defenders, defenderGrid, playerX, playerY);
+        if (defender != -1) {
+            return handleTackleAttempt(player, defenders, defender, listener, level);
         }
         return false;
     }
     
-    private boolean isPlayerTouchingDefender(int playerX, int playerY, Defenders.Defender defender) {
-        int dx = playerX - defender.getX();
-        int dy = playerY - defender.getY();
+    /**
+     * Finds the index of the first active defender in store order touching the player, or -1.
+     * Only the grid cells around the player are visited.
+     */
+    private int findTouchingDefender(DefenderStore defenders, SpatialHash defenderGrid, 
+            int playerX, int playerY) {
+        int[] xs = defenders.getXs();
+        int[] ys = defenders.getYs();
+        int[] stuckTimers = defenders.getStuckTimers();
+        int firstIndex = Integer.MAX_VALUE;
+        int column = defenderGrid.cellColumn(playerX);
+        int row = defenderGrid.cellRow(playerY);
+        for (int r = row - 1; r <= row + 1; r++) {
+            for (int c = column - 1; c <= column + 1; c++) {
+                for (int slot = defenderGrid.firstSlot(c, r); slot != -1; slot = defenderGrid.nextSlot(slot)) {
+                    int index = defenderGrid.idAt(slot);
+                    if (index < firstIndex && stuckTimers[index] == 0 
+                            && isPlayerTouchingDefender(playerX, playerY, xs[index], ys[index])) {
+                        firstIndex = index;
+                    }
+                }
+            }
+        }
+        return firstIndex == Integer.MAX_VALUE ? -1 : firstIndex;
+    }
+    
+    private boolean isPlayerTouchingDefender(int playerX, int playerY, int defenderX, int defenderY) {
+        int dx = playerX - defenderX;
+        int dy = playerY - defenderY;
         int distanceSquared = dx * dx + dy * dy;
         int collisionDistance = GameConstants.DEFENDER_SIZE * GameConstants.DEFENDER_SIZE;
         
         return distanceSquared < collisionDistance;
     }
     
-    private boolean handleTackleAttempt(Player player, Defenders.Defender defender, 
-                                      JLabel messageLabel, int level) {
+    private boolean handleTackleAttempt(Player player, DefenderStore defenders, int defender, 
+                                      GameEventListener listener, int level) {
         
-        double breakChance = calculateBreakChance(player.getStrength(), defender.getStrength(), level);
+        int defenderStrength = defenders.getStrengths()[defender];
+        double breakChance = calculateBreakChance(player.getStrength(), defenderStrength, level);
+        
+        boolean broken = random.nextDouble() < breakChance;
+        if (listener != null) {
+            listener.onTackleAttempt(broken);
+        }
         
-        if (Math.random() < breakChance) {
-            handleSuccessfulBreak(player, defender, messageLabel);
+        if (broken) {
+            handleSuccessfulBreak(player, defenders, defender, listener);
             return false;
         } else {
-            handleFailedBreak(defender, messageLabel);
+            handleFailedBreak(defenderStrength, listener);
             return true;
         }
     }
     
-    private void handleSuccessfulBreak(Player player, Defenders.Defender defender, JLabel messageLabel) {
-        defender.setStopped(GameConstants.STUCK_DURATION);
+    private void handleSuccessfulBreak(Player player, DefenderStore defenders, int defender, GameEventListener listener) {
+        defenders.getStuckTimers()[defender] = GameConstants.STUCK_DURATION;
         
-        if (messageLabel != null) {
-            messageLabel.setText("BROKE THROUGH! +" + (player.getStrength() - defender.getStrength()));
-            messageLabel.setForeground(Color.GREEN);
-            messageLabel.putClientProperty("messageTimer", GameConstants.MESSAGE_DISPLAY_DURATION);
+        if (listener != null) {
+            listener.onMessage("BROKE THROUGH! +" + (player.getStrength() - defenders.getStrengths()[defender]), Color.GREEN);
         }
     }
     
-    private void handleFailedBreak(Defenders.Defender defender, JLabel messageLabel) {
-        if (messageLabel != null) {
-            messageLabel.setText("TACKLED! Defender strength: " + defender.getStrength());
-            messageLabel.setForeground(Color.RED);
-            messageLabel.putClientProperty("messageTimer", GameConstants.MESSAGE_DISPLAY_DURATION);
+    private void handleFailedBreak(int defenderStrength, GameEventListener listener) {
+        if (listener != null) {
+            listener.onMessage("TACKLED! Defender strength: " + defenderStrength, Color.RED);
         }
     }
     
@@ -0,0 +1,144 @@
+package forFun;
+
+import java.awt.Graphics;
+import java.util.Arrays;
+
+/**
+ * One bit per pixel of the field, marking where a crowd of squares is drawn.
+ * Squares are ORed into the mask, and the union is then filled as merged horizontal spans,
+ * with runs of identical rows filled as one rectangle. A crowd of thousands that overlaps
+ * itself many times over costs a few thousand fills and touches each covered pixel once,
+ * instead of one fill per square. The mask is reused, so drawing every frame does not allocate.
+ */
+public class CoverageMask {
+    private long[] bits = new long[0];
+    private int width;
+    private int height;
+    private int wordsPerRow;
+
+    /**
+     * Empties the mask and sizes it to the given field.
+     */
+    public void clear(int width, int height) {
+        this.width = Math.max(0, width);
+        this.height = Math.max(0, height);
+        wordsPerRow = (this.width + 63) >>> 6;
+        int words = wordsPerRow * this.height;
+        if (bits.length < words) {
+            bits = new long[words];
+        }
+        Arrays.fill(bits, 0, words, 0L);
+    }
+
+    /**
+     * Marks a square, clipped to the field.
+     *
+     * @param x the left edge
+     * @param y the top edge
+     * @param size the width and height
+     */
+    public void addSquare(int x, int y, int size) {
+        int left = Math.max(0, x);
+        int right = Math.min(width, x + size);
+        int top = Math.max(0, y);
+        int bottom = Math.min(height, y + size);
+        if (left >= right || top >= bottom) {
+            return;
+        }
+        int firstWord = left >>> 6;
+        int lastWord = (right - 1) >>> 6;
+        long firstMask = -1L << left;
+        long lastMask = -1L >>> (63 - ((right - 1) & 63));
+        for (int row = top; row < bottom; row++) {
+            int base = row * wordsPerRow;
+            if (firstWord == lastWord) {
+                bits[base + firstWord] |= firstMask & lastMask;
+            } else {
+                bits[base + firstWord] |= firstMask;
+                for (int word = firstWord + 1; word < lastWord; word++) {
+                    bits[base + word] = -1L;
+                }
+                bits[base + lastWord] |= lastMask;
+            }
+        }
+    }
+
+    /**
+     * Fills every marked pixel in the graphics context's current color.
+     */
+    public void fill(Graphics g) {
+        int groupStart = 0;
+        for (int row = 1; row <= height; row++) {
+            if (row < height && sameRow(row, groupStart)) {
+                continue;
+            }
+            fillRow(g, groupStart, row - groupStart);
+            groupStart = row;
+        }
+    }
+
+    /**
+     * Writes every marked pixel straight into a pixel array the size of the mask.
+     *
+     * @param pixels the pixels, one int per pixel, row by row
+     * @param color the pixel value to write
+     */
+    public void fill(int[] pixels, int color) {
+        for (int row = 0; row < height; row++) {
+            int base = row * wordsPerRow;
+            int rowStart = row * width;
+            for (int word = 0; word < wordsPerRow; word++) {
+                long value = bits[base + word];
+                int offset = rowStart + (word << 6);
+                while (value != 0) {
+                    int start = Long.numberOfTrailingZeros(value);
+                    long rest = ~value & (-1L << start);
+                    int end = rest == 0 ? 64 : Long.numberOfTrailingZeros(rest);
+                    Arrays.fill(pixels, offset + start, offset + end, color);
+                    value &= rest == 0 ? 0 : -1L << end;
+                }
+            }
+        }
+    }
+
+    private boolean sameRow(int row, int other) {
+        int a = row * wordsPerRow;
+        int b = other * wordsPerRow;
+        for (int word = 0; word < wordsPerRow; word++) {
+            if (bits[a + word] != bits[b + word]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fills the spans of one row, stretched down over the given number of identical rows.
+     */
+    private void fillRow(Graphics g, int row, int rows) {
+        int base = row * wordsPerRow;
+        int runStart = -1;
+        for (int word = 0; word < wordsPerRow; word++) {
+            long value = bits[base + word];
+            int offset = word << 6;
+            int bit = 0;
+            while (bit < 64) {
+                // Look for the next set bit outside a run, or the next clear bit inside one
+                long candidates = (runStart < 0 ? value : ~value) & (-1L << bit);
+                if (candidates == 0) {
+                    break;
+                }
+                bit = Long.numberOfTrailingZeros(candidates);
+                if (runStart < 0) {
+                    runStart = offset + bit;
+                } else {
+                    g.fillRect(runStart, row, offset + bit - runStart, rows);
+                    runStart = -1;
+                }
+            }
+        }
+        if (runStart >= 0) {
+            g.fillRect(runStart, row, width - runStart, rows);
+        }
+    }
+}
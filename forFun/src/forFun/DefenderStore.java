@@ -0,0 +1,60 @@
+package forFun;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays storage for defender state.
+ * Each attribute lives in its own primitive column indexed by defender number, so the
+ * per-tick loops walk contiguous arrays instead of chasing object references.
+ * The column getters return the live arrays; only the first {@link #size()} entries are valid.
+ */
+public class DefenderStore {
+    private int[] xs;
+    private int[] ys;
+    private int[] speeds;
+    private int[] strengths;
+    private int[] stuckTimers;
+    private int size;
+
+    /**
+     * Creates an empty store with room for the given number of defenders.
+     */
+    public DefenderStore(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        xs = new int[capacity];
+        ys = new int[capacity];
+        speeds = new int[capacity];
+        strengths = new int[capacity];
+        stuckTimers = new int[capacity];
+    }
+
+    /**
+     * Adds a defender and returns its index.
+     */
+    public int add(int x, int y, int speed, int strength) {
+        if (size == xs.length) {
+            grow(size * 2);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        speeds[size] = speed;
+        strengths[size] = strength;
+        stuckTimers[size] = 0;
+        return size++;
+    }
+
+    private void grow(int capacity) {
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        speeds = Arrays.copyOf(speeds, capacity);
+        strengths = Arrays.copyOf(strengths, capacity);
+        stuckTimers = Arrays.copyOf(stuckTimers, capacity);
+    }
+
+    public int size() { return size; }
+    public int[] getXs() { return xs; }
+    public int[] getYs() { return ys; }
+    public int[] getSpeeds() { return speeds; }
+    public int[] getStrengths() { return strengths; }
+    public int[] getStuckTimers() { return stuckTimers; }
+}
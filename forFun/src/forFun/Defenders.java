@@ -1,90 +1,112 @@
 package forFun;
 
 import java.util.ArrayList;
-import java.util.Random;
-import javax.swing.JLabel;
+import java.util.List;
 
 public class Defenders {
+    private final DefenderStore store;
     private final ArrayList<Defender> defenders;
     private final int level;
+    private final GameRandom random;
     private final CollisionHandler collisionHandler;
+    private final SpatialHash defenderGrid;
     
+    /**
+     * Lightweight view of one defender in the {@link DefenderStore}.
+     * Views are created once per defender, so they can be compared by identity.
+     */
     public static class Defender {
-        private int x, y;
-        private final int speed;
-        private final int strength;
-        private int stuckTimer;
-        private final Random rand;
-
-        public Defender(int x, int y, int speed, int strength) {
-            this.x = x;
-            this.y = y;
-            this.speed = speed;
-            this.strength = strength;
-            this.stuckTimer = 0;
-            this.rand = new Random();
+        private final DefenderStore store;
+        private final int index;
+
+        public Defender(DefenderStore store, int index) {
+            this.store = store;
+            this.index = index;
         }
 
-        public int getX() { return x; }
-        public int getY() { return y; }
-        public int getStrength() { return strength; }
-        public int getSpeed() { return speed; }
-        public void setX(int x) { this.x = x; }
-        public void setY(int y) { this.y = y; }
+        public int getIndex() { return index; }
+        public int getX() { return store.getXs()[index]; }
+        public int getY() { return store.getYs()[index]; }
+        public int getStrength() { return store.getStrengths()[index]; }
+        public int getSpeed() { return store.getSpeeds()[index]; }
+        public void setX(int x) { store.getXs()[index] = x; }
+        public void setY(int y) { store.getYs()[index] = y; }
 
         public boolean isStopped() {
-            return stuckTimer > 0;
+            return store.getStuckTimers()[index] > 0;
         }
 
         public void setStopped(int duration) {
-            this.stuckTimer = duration;
+            store.getStuckTimers()[index] = duration;
         }
 
         public void reduceStuckTimer() {
-            if (stuckTimer > 0) {
-                stuckTimer--;
+            int[] stuckTimers = store.getStuckTimers();
+            if (stuckTimers[index] > 0) {
+                stuckTimers[index]--;
             }
         }
 
         public void moveTowardPlayer(int playerX, int playerY, int frameWidth, int frameHeight) {
-            if (stuckTimer > 0) {
-                return;
-            }
-
-            double dx = playerX - x;
-            double dy = playerY - y;
-            double distance = Math.sqrt(dx * dx + dy * dy);
-            
-            if (distance > 0) {
-                dx = (dx / distance) * speed;
-                dy = (dy / distance) * speed;
-                
-                x = Math.max(0, Math.min(frameWidth - GameConstants.DEFENDER_SIZE, x + (int) dx));
-                y = Math.max(0, Math.min(frameHeight - GameConstants.DEFENDER_SIZE, y + (int) dy));
+            if (!isStopped()) {
+                AIController.moveDefender(store, index, playerX, playerY, frameWidth, frameHeight);
             }
         }
     }
 
     public Defenders(int frameWidth, int frameHeight, int level) {
-        defenders = new ArrayList<>();
+        this(frameWidth, frameHeight, level, new GameRandom(GameRandom.sessionSeed()));
+    }
+
+    public Defenders(int frameWidth, int frameHeight, int level, GameRandom rand) {
+        this(frameWidth, frameHeight, level, GameConstants.NUM_DEFENDERS + (level - 1), rand);
+    }
+
+    /**
+     * Creates a given number of defenders with the speed and strength of the given level,
+     * e.g. to benchmark crowds much larger than normal play produces.
+     */
+    public Defenders(int frameWidth, int frameHeight, int level, int count, GameRandom rand) {
         this.level = level;
-        this.collisionHandler = new CollisionHandler();
-        initializeDefenders(frameWidth, frameHeight);
+        this.store = new DefenderStore(count);
+        this.defenders = new ArrayList<>();
+        this.random = rand;
+        this.collisionHandler = new CollisionHandler(rand);
+        this.defenderGrid = new SpatialHash(GameConstants.DEFENDER_SIZE);
+        initializeDefenders(frameWidth, frameHeight, count, rand);
+        
+        defenderGrid.clear(frameWidth, frameHeight);
+        for (int i = 0; i < store.size(); i++) {
+            defenderGrid.insert(i, store.getXs()[i], store.getYs()[i]);
+        }
     }
 
-    private void initializeDefenders(int frameWidth, int frameHeight) {
-        Random rand = new Random();
-        int numDefenders = calculateDefenderCount();
+    private void initializeDefenders(int frameWidth, int frameHeight, int numDefenders, GameRandom rand) {
         int defenderSpeed = calculateDefenderSpeed();
         int defenderStrength = calculateDefenderStrength();
         
         for (int i = 0; i < numDefenders; i++) {
-            defenders.add(createDefender(frameWidth, frameHeight, rand, defenderSpeed, defenderStrength));
+            int index = createDefender(frameWidth, frameHeight, rand, defenderSpeed, defenderStrength);
+            defenders.add(new Defender(store, index));
         }
     }
 
-    private int calculateDefenderCount() {
-        return GameConstants.NUM_DEFENDERS + (level - 1);
+    /**
+     * Adds a wave of defenders at the right of the field, as at the start of a level.
+     * The store and the views grow, so this allocates; the grids pick the new defenders up
+     * straight away.
+     *
+     * @param count the number of defenders to add
+     */
+    public void spawnWave(int frameWidth, int frameHeight, int count) {
+        int defenderSpeed = calculateDefenderSpeed();
+        int defenderStrength = calculateDefenderStrength();
+        defenders.ensureCapacity(store.size() + count);
+        for (int i = 0; i < count; i++) {
+            int index = createDefender(frameWidth, frameHeight, random, defenderSpeed, defenderStrength);
+            defenders.add(new Defender(store, index));
+            defenderGrid.insert(index, store.getXs()[index], store.getYs()[index]);
+        }
     }
 
     private int calculateDefenderSpeed() {
@@ -95,7 +117,7 @@ public class Defenders {
         return Math.min(15, GameConstants.BASE_DEFENDER_STRENGTH + (level / 2));
     }
 
-    private Defender createDefender(int frameWidth, int frameHeight, Random rand, 
+    private int createDefender(int frameWidth, int frameHeight, GameRandom rand, 
                                   int baseSpeed, int baseStrength) {
         int x = rand.nextInt(frameWidth / 4) + (3 * frameWidth / 4);
         int y = rand.nextInt(frameHeight - GameConstants.DEFENDER_SIZE);
@@ -103,31 +125,48 @@ public class Defenders {
         int individualSpeed = calculateIndividualSpeed(rand, baseSpeed);
         int individualStrength = calculateIndividualStrength(rand, baseStrength);
         
-        return new Defender(x, y, individualSpeed, individualStrength);
+        return store.add(x, y, individualSpeed, individualStrength);
     }
 
-    private int calculateIndividualSpeed(Random rand, int baseSpeed) {
+    private int calculateIndividualSpeed(GameRandom rand, int baseSpeed) {
         return Math.max(2, baseSpeed - 1 + rand.nextInt(3));
     }
 
-    private int calculateIndividualStrength(Random rand, int baseStrength) {
+    private int calculateIndividualStrength(GameRandom rand, int baseStrength) {
         return Math.max(3, baseStrength - 1 + rand.nextInt(3));
     }
 
+    /**
+     * Gets view objects for the defenders, in store order.
+     */
     public ArrayList<Defender> getDefenders() {
         return defenders;
     }
     
+    /**
+     * Gets the primitive column storage behind the defenders, for per-tick loops.
+     */
+    public DefenderStore getStore() {
+        return store;
+    }
+    
     public int getLevel() {
         return level;
     }
+    
+    /**
+     * Gets the grid of defender positions, rebuilt as defenders move during each update.
+     */
+    public SpatialHash getDefenderGrid() {
+        return defenderGrid;
+    }
 
-    public void update(int playerX, int playerY, int frameWidth, int frameHeight, ArrayList<Player> blockers) {
+    public void update(int playerX, int playerY, int frameWidth, int frameHeight, List<Player> blockers) {
         AIController.updateDefenders(this, playerX, playerY, frameWidth, frameHeight, blockers);
     }
 
-    public boolean checkCollisionWithPlayer(int playerX, int playerY, Player player, JLabel messageLabel) {
-        return collisionHandler.checkPlayerDefenderCollision(defenders, playerX, playerY, player, messageLabel, level);
+    public boolean checkCollisionWithPlayer(int playerX, int playerY, Player player, GameEventListener listener) {
+        return collisionHandler.checkPlayerDefenderCollision(store, defenderGrid, playerX, playerY, player, listener, level);
     }
     
     public boolean checkCollisionWithPlayer(int playerX, int playerY, Player player) {
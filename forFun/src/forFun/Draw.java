@@ -1,22 +1,59 @@
 package forFun;
 
 import java.awt.Color;
+import java.awt.Font;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import javax.swing.JLabel;
 import javax.swing.JPanel;
 
+/**
+ * Draws the playfield from the latest render snapshot the simulation published.
+ */
 public class Draw extends JPanel {
-    private final Offense offense;
-    private final Defenders defenders;
+    /** Crowds whose squares add up to this many times the field area are drawn through a mask. */
+    private static final int MASK_OVERDRAW = 3;
+    /** "0s" to the full cooldown, built once so the indicator doesn't make a string every frame. */
+    private static final String[] COOLDOWN_LABELS = new String[Specials.TRUCK_COOLDOWN_SECONDS + 1];
+    
+    static {
+        for (int seconds = 0; seconds < COOLDOWN_LABELS.length; seconds++) {
+            COOLDOWN_LABELS[seconds] = seconds + "s";
+        }
+    }
+    
+    private final SnapshotBuffer snapshots;
     private final FieldRenderer fieldRenderer;
+    private final FrameStats frameStats = new FrameStats("passive");
+    private final CoverageMask defenderMask = new CoverageMask();
     private boolean useAlternateField = false;
+    private volatile boolean rasterRendering;
+    private RasterRenderer rasterRenderer;
+    private JLabel levelLabel;
+    private JLabel messageLabel;
+    private long hudTick = -1;
+    private int hudLevel = -1;
+    private int hudScore = -1;
+    private int hudPoints = -1;
+    private String levelText = "";
+    private String messageText = "";
+    private Color messageColor = Color.YELLOW;
 
-    public Draw(Offense offense, Defenders defenders) {
-        this.offense = offense;
-        this.defenders = defenders;
+    public Draw(SnapshotBuffer snapshots) {
+        this.snapshots = snapshots;
         this.fieldRenderer = new FieldRenderer();
         this.setOpaque(false);
     }
     
+    /**
+     * Sets labels to keep showing the snapshot's level, score and message when painted by Swing.
+     */
+    public void setHudLabels(JLabel levelLabel, JLabel messageLabel) {
+        this.levelLabel = levelLabel;
+        this.messageLabel = messageLabel;
+    }
+    
     public void setUseAlternateField(boolean useAlternate) {
         this.useAlternateField = useAlternate;
     }
@@ -24,26 +61,151 @@ public class Draw extends JPanel {
     public boolean isUsingAlternateField() {
         return useAlternateField;
     }
+    
+    /**
+     * Switches between drawing through Java2D and writing pixels with a {@link RasterRenderer}.
+     * Can be called from any thread; the next frame uses the new path.
+     */
+    public void setRasterRendering(boolean rasterRendering) {
+        this.rasterRendering = rasterRendering;
+    }
+    
+    public boolean isRasterRendering() {
+        return rasterRendering;
+    }
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         
-        int fieldWidth = getWidth();
-        int fieldHeight = getHeight();
+        long frameStart = System.nanoTime();
+        render(g, getWidth(), getHeight());
+        frameStats.record(frameStart, System.nanoTime() - frameStart);
+        updateHudLabels();
+    }
+    
+    /**
+     * Mirrors the HUD text into the labels, touching them only when it changed.
+     */
+    private void updateHudLabels() {
+        if (levelLabel == null) {
+            return;
+        }
+        long hudStart = System.nanoTime();
+        if (!levelText.equals(levelLabel.getText())) {
+            levelLabel.setText(levelText);
+        }
+        if (!messageText.equals(messageLabel.getText())) {
+            messageLabel.setText(messageText);
+        }
+        if (!messageColor.equals(messageLabel.getForeground())) {
+            messageLabel.setForeground(messageColor);
+        }
+        TickProfiler.getInstance().record(TickProfiler.Phase.HUD, System.nanoTime() - hudStart);
+    }
+    
+    /**
+     * Draws the field, players and HUD in one pass onto any graphics context.
+     * Used by Swing painting and by the active renderer.
+     */
+    public void render(Graphics g, int fieldWidth, int fieldHeight) {
+        long paintStart = System.nanoTime();
+        RenderSnapshot snapshot = snapshots.acquire();
+        if (rasterRendering && fieldWidth > 0 && fieldHeight > 0) {
+            renderRaster(g, snapshot, fieldWidth, fieldHeight);
+        } else {
+            drawFieldBackground(g, fieldWidth, fieldHeight);
+            if (snapshot != null) {
+                updateHudText(snapshot);
+                drawGameElements(g, snapshot, fieldWidth, fieldHeight);
+                drawStaminaBar(g, snapshot);
+                drawTruckStatusIndicator(g, snapshot, fieldHeight);
+            }
+        }
         
-        drawFieldBackground(g, fieldWidth, fieldHeight);
-        drawGameElements(g);
-        drawStaminaBar(g);
-        drawTruckStatusIndicator(g);
+        TickProfiler profiler = TickProfiler.getInstance();
+        profiler.record(TickProfiler.Phase.PAINT, System.nanoTime() - paintStart);
+        profiler.drawOverlay(g, fieldWidth);
     }
     
-    private void drawTruckStatusIndicator(Graphics g) {
+    /**
+     * Draws the same frame as the Java2D path, with the field and sprites written straight
+     * into the raster renderer's back buffer and everything else drawn on top of it.
+     */
+    private void renderRaster(Graphics g, RenderSnapshot snapshot, int fieldWidth, int fieldHeight) {
+        if (rasterRenderer == null) {
+            rasterRenderer = new RasterRenderer();
+        }
+        GraphicsConfiguration config = g instanceof Graphics2D ? ((Graphics2D) g).getDeviceConfiguration() : null;
+        Graphics2D buffer = rasterRenderer.begin(
+                fieldRenderer.getFieldImage(config, g.getFont(), fieldWidth, fieldHeight, useAlternateField),
+                fieldWidth, fieldHeight);
+        buffer.setFont(g.getFont());
+        if (snapshot != null) {
+            updateHudText(snapshot);
+            Player player = snapshot.getPlayer();
+            player.drawSpecials(buffer);
+            rasterRenderer.drawPlayer(player);
+            rasterRenderer.drawTeams(snapshot, MASK_OVERDRAW);
+            drawStaminaBar(buffer, snapshot);
+            drawTruckStatusIndicator(buffer, snapshot, fieldHeight);
+        }
+        rasterRenderer.end(g);
+    }
+    
+    public SnapshotBuffer getSnapshots() {
+        return snapshots;
+    }
+    
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+    
+    /**
+     * Gets the level and score text for the last rendered snapshot.
+     */
+    public String getLevelText() {
+        return levelText;
+    }
+    
+    /**
+     * Gets the message for the last rendered snapshot, or an empty string for none.
+     */
+    public String getMessageText() {
+        return messageText;
+    }
+    
+    public Color getMessageColor() {
+        return messageColor;
+    }
+    
+    /**
+     * Rebuilds the HUD text when the snapshot's values changed.
+     */
+    private void updateHudText(RenderSnapshot snapshot) {
+        if (snapshot.getTick() == hudTick) {
+            return;
+        }
+        hudTick = snapshot.getTick();
+        if (snapshot.getLevel() != hudLevel || snapshot.getScore() != hudScore 
+                || snapshot.getPointsScore() != hudPoints) {
+            hudLevel = snapshot.getLevel();
+            hudScore = snapshot.getScore();
+            hudPoints = snapshot.getPointsScore();
+            levelText = "Level: " + hudLevel + " | Score: " + hudScore + " | Points: " + hudPoints;
+        }
+        messageText = snapshot.getMessage() != null ? snapshot.getMessage() : "";
+        if (snapshot.getMessageColor() != null) {
+            messageColor = snapshot.getMessageColor();
+        }
+    }
+    
+    private void drawTruckStatusIndicator(Graphics g, RenderSnapshot snapshot, int fieldHeight) {
         int indicatorX = 10;
-        int indicatorY = getHeight() - 40;
+        int indicatorY = fieldHeight - 40;
         int size = 30;
         
-        Player player = offense.getMainPlayer();
+        Player player = snapshot.getPlayer();
         Specials specials = player.getSpecials();
         
         if (specials.isTruckReady()) {
@@ -53,9 +215,7 @@ public class Draw extends JPanel {
             g.setColor(Color.BLACK);
             g.drawRect(indicatorX, indicatorY, size, size);
             
-            g.setColor(Color.WHITE);
-            g.setFont(g.getFont().deriveFont(12f).deriveFont(java.awt.Font.BOLD));
-            g.drawString("T", indicatorX + 11, indicatorY + 20);
+            TextCache.getInstance().drawText(g, "T", indicatorX + 11, indicatorY + 20, 12f, Font.BOLD, Color.WHITE);
             
         } else if (specials.isTruckActive()) {
             // Active - orange border
@@ -64,9 +224,7 @@ public class Draw extends JPanel {
             g.setColor(Color.BLACK);
             g.drawRect(indicatorX, indicatorY, size, size);
             
-            g.setColor(Color.WHITE);
-            g.setFont(g.getFont().deriveFont(10f));
-            g.drawString("ACTIVE", indicatorX + 2, indicatorY + 20);
+            TextCache.getInstance().drawText(g, "ACTIVE", indicatorX + 2, indicatorY + 20, 10f, Font.BOLD, Color.WHITE);
             
         } else if (specials.isTruckOnCooldown()) {
             // Cooldown - gray with progress
@@ -83,47 +241,62 @@ public class Draw extends JPanel {
             g.drawRect(indicatorX, indicatorY, size, size);
             
             // Draw cooldown time
-            g.setColor(Color.WHITE);
-            g.setFont(g.getFont().deriveFont(10f));
-            int secondsLeft = specials.getCooldownRemainingSeconds();
-            g.drawString(secondsLeft + "s", indicatorX + 8, indicatorY + 20);
+            int secondsLeft = Math.min(specials.getCooldownRemainingSeconds(), COOLDOWN_LABELS.length - 1);
+            TextCache.getInstance().drawText(g, COOLDOWN_LABELS[secondsLeft], indicatorX + 8, indicatorY + 20, 10f, Font.PLAIN, Color.WHITE);
         }
         
-        // Label
-        g.setColor(Color.WHITE);
-        g.setFont(g.getFont().deriveFont(10f));
-        g.drawString("TRUCK [T]", indicatorX, indicatorY - 5);
+        // Label, bold while the truck can be or is being used
+        int labelStyle = specials.isTruckReady() || specials.isTruckActive() ? Font.BOLD : Font.PLAIN;
+        TextCache.getInstance().drawText(g, "TRUCK [T]", indicatorX, indicatorY - 5, 10f, labelStyle, Color.WHITE);
     }
     
     private void drawFieldBackground(Graphics g, int width, int height) {
         fieldRenderer.drawFootballField(g, width, height, useAlternateField);
     }
     
-    private void drawGameElements(Graphics g) {
-        drawMainPlayer(g);
-        drawBlockers(g);
-        drawDefenders(g);
+    private void drawGameElements(Graphics g, RenderSnapshot snapshot, int fieldWidth, int fieldHeight) {
+        drawMainPlayer(g, snapshot);
+        drawBlockers(g, snapshot);
+        drawDefenders(g, snapshot, fieldWidth, fieldHeight);
     }
     
-    private void drawMainPlayer(Graphics g) {
-        offense.getMainPlayer().draw(g);
+    private void drawMainPlayer(Graphics g, RenderSnapshot snapshot) {
+        snapshot.getPlayer().draw(g);
     }
     
-    private void drawBlockers(Graphics g) {
+    private void drawBlockers(Graphics g, RenderSnapshot snapshot) {
+        int[] xs = snapshot.getBlockerXs();
+        int[] ys = snapshot.getBlockerYs();
         g.setColor(GameConstants.PLAYER_RED);
-        for (Player blocker : offense.getBlockers()) {
-            g.fillRect(blocker.getX(), blocker.getY(), GameConstants.BLOCKER_SIZE, GameConstants.BLOCKER_SIZE);
+        for (int i = 0; i < snapshot.getBlockerCount(); i++) {
+            g.fillRect(xs[i], ys[i], GameConstants.BLOCKER_SIZE, GameConstants.BLOCKER_SIZE);
         }
     }
     
-    private void drawDefenders(Graphics g) {
+    /**
+     * Draws the defenders one square each, or, for a horde that overlaps itself many times
+     * over, as their union so each covered pixel is filled once.
+     */
+    private void drawDefenders(Graphics g, RenderSnapshot snapshot, int fieldWidth, int fieldHeight) {
+        int[] xs = snapshot.getDefenderXs();
+        int[] ys = snapshot.getDefenderYs();
+        int count = snapshot.getDefenderCount();
+        int size = GameConstants.DEFENDER_SIZE;
         g.setColor(Color.ORANGE);
-        for (Defenders.Defender defender : defenders.getDefenders()) {
-            g.fillRect(defender.getX(), defender.getY(), GameConstants.DEFENDER_SIZE, GameConstants.DEFENDER_SIZE);
+        if ((long) count * size * size < (long) MASK_OVERDRAW * fieldWidth * fieldHeight) {
+            for (int i = 0; i < count; i++) {
+                g.fillRect(xs[i], ys[i], size, size);
+            }
+            return;
+        }
+        defenderMask.clear(fieldWidth, fieldHeight);
+        for (int i = 0; i < count; i++) {
+            defenderMask.addSquare(xs[i], ys[i], size);
         }
+        defenderMask.fill(g);
     }
     
-    private void drawStaminaBar(Graphics g) {
-        fieldRenderer.drawStaminaBar(g, offense.getMainPlayer());
+    private void drawStaminaBar(Graphics g, RenderSnapshot snapshot) {
+        fieldRenderer.drawStaminaBar(g, snapshot.getPlayer());
     }
 }
\ No newline at end of file
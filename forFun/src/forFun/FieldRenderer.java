@@ -2,16 +2,87 @@ package forFun;
 
 import java.awt.Color;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Objects;
 
 public class FieldRenderer {
+    // Shared by all renderers, one slot per field style, so each level's new panel and the
+    // startup preloader reuse the same images. Guarded by CACHE_LOCK.
+    private static final Object CACHE_LOCK = new Object();
+    private static final BufferedImage[] cachedFields = new BufferedImage[2];
+    private static final int[] cachedWidths = new int[2];
+    private static final int[] cachedHeights = new int[2];
+    private static final Font[] cachedFonts = new Font[2];
     
+    /**
+     * Draws the field by blitting a cached image of it.
+     * The image is only re-rendered when the size or field style changes.
+     */
     public void drawFootballField(Graphics g, int width, int height, boolean useAlternate) {
-        if (useAlternate) {
-            drawAlternateField(g, width, height);
-        } else {
-            drawStandardField(g, width, height);
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        GraphicsConfiguration config = g instanceof Graphics2D ? ((Graphics2D) g).getDeviceConfiguration() : null;
+        g.drawImage(getFieldImage(config, g.getFont(), width, height, useAlternate), 0, 0, null);
+    }
+    
+    /**
+     * Gets the pre-rendered field for the given size and style, rendering it if needed.
+     *
+     * @param config the configuration to create a compatible image for, or null for a plain RGB image
+     * @param font the base font for the field text
+     * @param width the field width
+     * @param height the field height
+     * @param useAlternate true for the alternate red/black field
+     * @return the cached field image
+     */
+    public BufferedImage getFieldImage(GraphicsConfiguration config, Font font, int width, int height, 
+            boolean useAlternate) {
+        int slot = useAlternate ? 1 : 0;
+        synchronized (CACHE_LOCK) {
+            if (cachedFields[slot] == null || cachedWidths[slot] != width || cachedHeights[slot] != height 
+                    || !Objects.equals(cachedFonts[slot], font)) {
+                cachedFields[slot] = renderField(config, font, width, height, useAlternate);
+                cachedWidths[slot] = width;
+                cachedHeights[slot] = height;
+                cachedFonts[slot] = font;
+            }
+            return cachedFields[slot];
+        }
+    }
+    
+    /**
+     * Drops the cached fields so the next draw renders them again.
+     */
+    public void invalidateCache() {
+        synchronized (CACHE_LOCK) {
+            Arrays.fill(cachedFields, null);
+        }
+    }
+    
+    private BufferedImage renderField(GraphicsConfiguration config, Font font, int width, int height, 
+            boolean useAlternate) {
+        BufferedImage image = config != null 
+                ? config.createCompatibleImage(width, height) 
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            if (font != null) {
+                g.setFont(font);
+            }
+            if (useAlternate) {
+                drawAlternateField(g, width, height);
+            } else {
+                drawStandardField(g, width, height);
+            }
+        } finally {
+            g.dispose();
         }
+        return image;
     }
     
     private void drawStandardField(Graphics g, int width, int height) {
@@ -64,7 +135,7 @@ public class FieldRenderer {
     }
     
     private void drawEndZoneText(Graphics g, int width, int height, int spacing) {
-        g.setFont(g.getFont().deriveFont(20f));
+        g.setFont(TextCache.getInstance().getFont(g.getFont(), 20f, Font.PLAIN));
         g.drawString("END ZONE", spacing / 2 - 40, height / 2);
         g.drawString("END ZONE", width - spacing / 2 - 40, height / 2);
     }
@@ -88,7 +159,7 @@ public class FieldRenderer {
     }
     
     private void drawSidelineNumbers(Graphics g, int width, int height, int spacing) {
-        g.setFont(g.getFont().deriveFont(12f));
+        g.setFont(TextCache.getInstance().getFont(g.getFont(), 12f, Font.PLAIN));
         for (int i = 1; i < 10; i++) {
             int x = i * spacing;
             if (i <= 5) {
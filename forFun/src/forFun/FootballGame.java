@@ -16,9 +16,13 @@ public class FootballGame {
      */
     public static void main(String[] args) {
         myFrame = new MyFrame();
+        StartupProfiler.mark(StartupProfiler.Milestone.FRAME_VISIBLE);
+        TickProfiler.getInstance().dumpOnExit();
+        
+        // Load audio, fonts and field images in the background while the menu comes up
+        AssetPreloader.start(myFrame);
         
         // Initialize sound system
-        SoundManager.getInstance().preloadMusic();
         SoundManager.getInstance().setVolume(0.5f);
         SoundManager.getInstance().setMusicEnabled(true);
         SoundManager.getInstance().playMusic(SoundManager.MUSIC_MENU, true);
@@ -39,24 +43,30 @@ public class FootballGame {
         }
 
         MyButton startButton = new MyButton(myFrame, "START GAME");
+        MyButton hordeButton = new MyButton(myFrame, "HORDE MODE");
         highScoreButton = new MyButton(myFrame, "VIEW HIGH SCORES");
         MyButton endButton = new MyButton(myFrame, "QUIT GAME");
         
         // Position buttons
-        highScoreButton.setBounds(startButton.getX(), startButton.getY() + startButton.getHeight() + 20, 
-                                 startButton.getWidth(), startButton.getHeight());
+        hordeButton.setBounds(startButton.getX(), startButton.getY() + startButton.getHeight() + 20, 
+                             startButton.getWidth(), startButton.getHeight());
+        
+        highScoreButton.setBounds(hordeButton.getX(), hordeButton.getY() + hordeButton.getHeight() + 20, 
+                                 hordeButton.getWidth(), hordeButton.getHeight());
         
         endButton.setBounds(highScoreButton.getX(), highScoreButton.getY() + highScoreButton.getHeight() + 20, 
                            highScoreButton.getWidth(), highScoreButton.getHeight());
         
-        PopUp popUp = new PopUp(myFrame);
+        // The name dialog is the first thing the player can use
+        PopUp popUp = new PopUp(myFrame, () -> StartupProfiler.mark(StartupProfiler.Milestone.MENU_INTERACTIVE));
         currentPlayerName = popUp.getPlayerName(); // Store player name
         
         // Create arrays for buttons
-        MyButton[] buttons = {startButton, highScoreButton, endButton};
+        MyButton[] buttons = {startButton, hordeButton, highScoreButton, endButton};
         
         // Pass the buttons and labels to the action listener
         startButton.addActionListener(ButtonFunctions.getStartGameAction(myFrame, titles, buttons, currentPlayerName));
+        hordeButton.addActionListener(ButtonFunctions.getStartGameAction(myFrame, titles, buttons, currentPlayerName, true));
         
         // Add high score button action
         highScoreButton.addActionListener(e -> showHighScores(myFrame));
@@ -67,6 +77,7 @@ public class FootballGame {
         });
         
         myFrame.getContentPanel().add(startButton);
+        myFrame.getContentPanel().add(hordeButton);
         myFrame.getContentPanel().add(highScoreButton);
         myFrame.getContentPanel().add(endButton);
 
@@ -78,7 +89,7 @@ public class FootballGame {
      * Displays the high scores dialog.
      */
     private static void showHighScores(MyFrame myFrame) {
-        HighScoreManager highScoreManager = new HighScoreManager();
+        HighScoreManager highScoreManager = HighScoreManager.getInstance();
         String highScoresText = HighScoreManager.getHighScoresTable(highScoreManager.getHighScores());
         JOptionPane.showMessageDialog(myFrame, highScoresText, "High Scores", JOptionPane.INFORMATION_MESSAGE);
     }
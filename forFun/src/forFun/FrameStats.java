@@ -0,0 +1,74 @@
+package forFun;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Collects frame-to-frame intervals and render times over a sliding window of recent frames.
+ */
+public class FrameStats {
+    private static final int WINDOW = 1024;
+
+    private final String name;
+    private final long[] intervals = new long[WINDOW];
+    private final long[] renderTimes = new long[WINDOW];
+    private long lastFrameStart;
+    private long frames;
+
+    /**
+     * Creates an empty set of statistics.
+     *
+     * @param name the name shown in the summary, e.g. the rendering mode
+     */
+    public FrameStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one frame.
+     *
+     * @param frameStart the System.nanoTime() at which the frame started
+     * @param renderNanos how long the frame took to render
+     */
+    public synchronized void record(long frameStart, long renderNanos) {
+        int slot = (int) (frames % WINDOW);
+        intervals[slot] = lastFrameStart == 0 ? 0 : frameStart - lastFrameStart;
+        renderTimes[slot] = renderNanos;
+        lastFrameStart = frameStart;
+        frames++;
+    }
+
+    /**
+     * Gets a one-line summary of the recent frames.
+     */
+    public synchronized String getSummary() {
+        int count = (int) Math.min(frames, WINDOW);
+        if (count < 2) {
+            return "Frame stats (" + name + "): not enough frames";
+        }
+        long[] sortedIntervals = Arrays.copyOf(intervals, count);
+        long[] sortedRenders = Arrays.copyOf(renderTimes, count);
+        Arrays.sort(sortedIntervals);
+        Arrays.sort(sortedRenders);
+        return String.format(Locale.ROOT,
+                "Frame stats (%s): %d frames, interval avg %.2fms p99 %.2fms max %.2fms, "
+                        + "render avg %.2fms p99 %.2fms max %.2fms",
+                name, frames,
+                average(sortedIntervals) / 1e6, percentile(sortedIntervals, 0.99) / 1e6,
+                sortedIntervals[count - 1] / 1e6,
+                average(sortedRenders) / 1e6, percentile(sortedRenders, 0.99) / 1e6,
+                sortedRenders[count - 1] / 1e6);
+    }
+
+    private static double average(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return (double) sum / values.length;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+    }
+}
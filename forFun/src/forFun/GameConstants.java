@@ -37,6 +37,11 @@ public final class GameConstants {
     public static final int RECOVERY_DURATION = 120;
     public static final int COLLISION_DISTANCE = 30;
     
+    // Horde mode constants
+    public static final int HORDE_WAVE_SIZE = 500;
+    public static final int HORDE_WAVE_INTERVAL = 60; // 1 second at 60 FPS
+    public static final int HORDE_MAX_DEFENDERS = 10000;
+    
     // UI constants
     public static final int DEFAULT_FRAME_WIDTH = 800;
     public static final int DEFAULT_FRAME_HEIGHT = 600;
@@ -63,6 +68,12 @@ public final class GameConstants {
     public static final String MUSIC_GAMEPLAY2_PATH = "/sounds/gameplay2.wav";
     public static final String MUSIC_GAMEPLAY3_PATH = "/sounds/gameplay3.wav";
     
+    // Sound effect paths
+    public static final String SFX_TACKLE_PATH = "/sounds/sfx_tackle.wav";
+    public static final String SFX_BROKE_THROUGH_PATH = "/sounds/sfx_broke_through.wav";
+    public static final String SFX_TRUCK_PATH = "/sounds/sfx_truck.wav";
+    public static final String SFX_LEVEL_UP_PATH = "/sounds/sfx_level_up.wav";
+    
     private GameConstants() {
         // Prevent instantiation
     }
@@ -0,0 +1,38 @@
+package forFun;
+
+import java.awt.Color;
+
+/**
+ * Receives notable events from the simulation so it stays independent of Swing.
+ */
+public interface GameEventListener {
+
+    /**
+     * Called when the simulation wants to show a short on-screen message.
+     *
+     * @param text the message text
+     * @param color the suggested message color
+     */
+    default void onMessage(String text, Color color) {
+    }
+
+    /**
+     * Called when a defender reaches the player and a tackle is rolled.
+     *
+     * @param broken true if the player broke the tackle
+     */
+    default void onTackleAttempt(boolean broken) {
+    }
+
+    /**
+     * Called when the player's truck special starts.
+     */
+    default void onTruckActivated() {
+    }
+
+    /**
+     * Called when the player reaches the end zone.
+     */
+    default void onLevelComplete() {
+    }
+}
@@ -0,0 +1,119 @@
+package forFun;
+
+import java.awt.Color;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * Drives a level of the simulation at the game's tick rate and publishes a render snapshot
+ * after every tick. Subclasses decide which thread ticks; everything the UI needs goes
+ * through the snapshot buffer, and the end of the level is reported on the Swing event thread.
+ */
+public abstract class GameLoop implements GameEventListener {
+    protected final GameSimulation simulation;
+    private final SnapshotBuffer snapshots;
+    private final Runnable frameReady;
+    private final Consumer<GameSimulation.Outcome> levelEndHandler;
+    private volatile long requestedFieldSize;
+    private String message;
+    private Color messageColor;
+    private int messageTicks;
+
+    /**
+     * Creates a loop for the current level of a simulation.
+     *
+     * @param simulation the simulation to tick
+     * @param snapshots the buffer to publish snapshots to
+     * @param frameReady called after each snapshot is published, e.g. to request a repaint
+     * @param levelEndHandler called on the event thread with the outcome when the level ends
+     */
+    protected GameLoop(GameSimulation simulation, SnapshotBuffer snapshots, Runnable frameReady,
+            Consumer<GameSimulation.Outcome> levelEndHandler) {
+        this.simulation = simulation;
+        this.snapshots = snapshots;
+        this.frameReady = frameReady;
+        this.levelEndHandler = levelEndHandler;
+        setFieldSize(simulation.getFieldWidth(), simulation.getFieldHeight());
+        simulation.setListener(this);
+    }
+
+    /**
+     * Creates the kind of loop the frame is configured for.
+     */
+    public static GameLoop create(MyFrame frame, GameSimulation simulation, SnapshotBuffer snapshots,
+            Runnable frameReady, Consumer<GameSimulation.Outcome> levelEndHandler) {
+        if (frame.isSimulationThread()) {
+            return new SimulationThread(simulation, snapshots, frameReady, levelEndHandler);
+        }
+        return new SwingTimerLoop(simulation, snapshots, frameReady, levelEndHandler);
+    }
+
+    public abstract void start();
+
+    /**
+     * Stops ticking for good. Waits for a tick in progress to finish.
+     */
+    public abstract void stop();
+
+    public abstract void pause();
+
+    public abstract void resume();
+
+    /**
+     * Checks whether the level is being ticked, i.e. started, not paused and not over.
+     */
+    public abstract boolean isRunning();
+
+    /**
+     * Sets the field size the next tick uses. Safe to call from any thread.
+     */
+    public void setFieldSize(int width, int height) {
+        requestedFieldSize = ((long) width << 32) | (height & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Runs one tick and publishes its snapshot.
+     *
+     * @return false if the level ended on this tick
+     */
+    protected final boolean runTick() {
+        long fieldSize = requestedFieldSize;
+        simulation.setFieldSize((int) (fieldSize >>> 32), (int) fieldSize);
+        GameSimulation.Outcome outcome = simulation.step(1);
+        StartupProfiler.markTick();
+
+        if (messageTicks > 0 && --messageTicks == 0) {
+            message = null;
+        }
+        snapshots.publish(simulation, message, messageColor);
+        frameReady.run();
+
+        if (outcome != GameSimulation.Outcome.RUNNING) {
+            SwingUtilities.invokeLater(() -> levelEndHandler.accept(outcome));
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void onMessage(String text, Color color) {
+        message = text;
+        messageColor = color;
+        messageTicks = GameConstants.MESSAGE_DISPLAY_DURATION;
+    }
+
+    @Override
+    public void onTackleAttempt(boolean broken) {
+        SfxMixer.getInstance().trigger(broken ? SfxMixer.Effect.BROKE_THROUGH : SfxMixer.Effect.TACKLE);
+    }
+
+    @Override
+    public void onTruckActivated() {
+        SfxMixer.getInstance().trigger(SfxMixer.Effect.TRUCK);
+    }
+
+    @Override
+    public void onLevelComplete() {
+        SfxMixer.getInstance().trigger(SfxMixer.Effect.LEVEL_UP);
+    }
+}
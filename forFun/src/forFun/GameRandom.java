@@ -0,0 +1,52 @@
+package forFun;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seedable, splittable random source for a game session.
+ * The same seed always produces the same sequence, and split streams are independent of
+ * each other, so drawing presentation randomness (e.g. music) never shifts gameplay.
+ */
+public final class GameRandom {
+    /** System property that fixes the session seed, e.g. {@code -Dfootball.seed=42}. */
+    public static final String SEED_PROPERTY = "football.seed";
+
+    private final long seed;
+    private final SplittableRandom random;
+
+    public GameRandom(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Gets the session seed from the {@value #SEED_PROPERTY} property, or a fresh one if unset.
+     */
+    public static long sessionSeed() {
+        Long seed = Long.getLong(SEED_PROPERTY);
+        return seed != null ? seed : System.nanoTime();
+    }
+
+    /**
+     * Creates an independent stream seeded from this one.
+     */
+    public GameRandom split() {
+        return new GameRandom(random.nextLong());
+    }
+
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
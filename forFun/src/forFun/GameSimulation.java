@@ -0,0 +1,289 @@
+package forFun;
+
+/**
+ * Runs the game rules for one playthrough independently of Swing.
+ * Clients advance it with {@link #step(int)} at whatever rate they like.
+ */
+public class GameSimulation {
+
+    /**
+     * The state of the current level after a tick.
+     */
+    public enum Outcome {
+        RUNNING, LEVEL_COMPLETE, TACKLED
+    }
+
+    private final GameState gameState;
+    private final Player player;
+    private final long seed;
+    private final GameRandom random;
+    private final GameRandom presentationRandom;
+    private GameEventListener listener;
+    private InputRecorder recorder;
+    private TickProfiler profiler;
+    private final InputQueue inputQueue = new InputQueue();
+    private volatile long tickCount;
+    private boolean truckRequested;
+    private int fieldWidth;
+    private int fieldHeight;
+    private Offense offense;
+    private Defenders defenders;
+    private Outcome outcome;
+    private int levelTicks;
+
+    /**
+     * Creates a simulation for the given game state and player.
+     *
+     * @param gameState the game state shared with the rest of the game
+     * @param player the main player
+     * @param fieldWidth the field width in pixels
+     * @param fieldHeight the field height in pixels
+     */
+    public GameSimulation(GameState gameState, Player player, int fieldWidth, int fieldHeight) {
+        this(gameState, player, fieldWidth, fieldHeight, GameRandom.sessionSeed());
+    }
+
+    /**
+     * Creates a simulation that draws all of its randomness from the given seed.
+     * The same seed and the same player input always play out identically.
+     *
+     * @param gameState the game state shared with the rest of the game
+     * @param player the main player
+     * @param fieldWidth the field width in pixels
+     * @param fieldHeight the field height in pixels
+     * @param seed the session seed
+     */
+    public GameSimulation(GameState gameState, Player player, int fieldWidth, int fieldHeight, long seed) {
+        GameRandom sessionRandom = new GameRandom(seed);
+        this.gameState = gameState;
+        this.seed = seed;
+        this.random = sessionRandom.split();
+        this.presentationRandom = sessionRandom.split();
+        this.player = player;
+        this.fieldWidth = fieldWidth;
+        this.fieldHeight = fieldHeight;
+        this.outcome = Outcome.RUNNING;
+    }
+
+    /**
+     * Sets up offense and defenders for the current level of the game state.
+     */
+    public void startLevel() {
+        if (gameState.isHordeMode()) {
+            defenders = new Defenders(fieldWidth, fieldHeight, gameState.getLevel(), hordeWaveSize(), random);
+        } else {
+            defenders = new Defenders(fieldWidth, fieldHeight, gameState.getLevel(), random);
+        }
+        offense = new Offense(player.getName(), fieldWidth, fieldHeight, defenders, player,
+                gameState.getLevel(), gameState.getBlockerCount());
+        outcome = Outcome.RUNNING;
+        levelTicks = 0;
+        truckRequested = false;
+        if (recorder != null) {
+            recorder.levelStarted(this);
+        }
+    }
+
+    /**
+     * Advances the simulation by up to the given number of ticks.
+     * Stepping stops early once the level is won or the player is tackled.
+     *
+     * @param ticks the number of ticks to run
+     * @return the outcome after the last tick run
+     */
+    public Outcome step(int ticks) {
+        for (int i = 0; i < ticks && outcome == Outcome.RUNNING; i++) {
+            tick();
+        }
+        return outcome;
+    }
+
+    /**
+     * Runs a single tick of game logic.
+     */
+    private void tick() {
+        tickCount++;
+        drainInput();
+        boolean truck = truckRequested;
+        if (truck) {
+            truckRequested = false;
+            boolean ready = player.getSpecials().isTruckReady();
+            player.getSpecials().truck();
+            if (ready && listener != null) {
+                listener.onTruckActivated();
+            }
+        }
+        if (recorder != null) {
+            recorder.tick(InputRecorder.inputMask(player, truck), fieldWidth, fieldHeight);
+        }
+        
+        long tickStart = profiler != null ? System.nanoTime() : 0;
+        long phaseStart = tickStart;
+        if (gameState.isHordeMode()) {
+            spawnHordeWave();
+        }
+        offense.move(fieldWidth, fieldHeight);
+        phaseStart = mark(TickProfiler.Phase.OFFENSE, phaseStart);
+        defenders.update(player.getX(), player.getY(), fieldWidth, fieldHeight, offense.getBlockers());
+        player.update();
+        phaseStart = mark(TickProfiler.Phase.DEFENDERS, phaseStart);
+        levelTicks++;
+
+        if (offense.checkWinCondition(fieldWidth)) {
+            gameState.levelUp();
+            outcome = Outcome.LEVEL_COMPLETE;
+            if (listener != null) {
+                listener.onLevelComplete();
+            }
+        } else if (defenders.checkCollisionWithPlayer(player.getX(), player.getY(), player, listener)) {
+            outcome = Outcome.TACKLED;
+        }
+        mark(TickProfiler.Phase.COLLISION, phaseStart);
+        mark(TickProfiler.Phase.TICK, tickStart);
+        if (recorder != null && outcome != Outcome.RUNNING) {
+            recorder.levelEnded(outcome, levelTicks);
+        }
+    }
+    
+    /**
+     * Brings on the next horde wave every {@link GameConstants#HORDE_WAVE_INTERVAL} ticks,
+     * until the field holds {@link GameConstants#HORDE_MAX_DEFENDERS}.
+     */
+    private void spawnHordeWave() {
+        int count = defenders.getStore().size();
+        if (levelTicks == 0 || levelTicks % GameConstants.HORDE_WAVE_INTERVAL != 0
+                || count >= GameConstants.HORDE_MAX_DEFENDERS) {
+            return;
+        }
+        defenders.spawnWave(fieldWidth, fieldHeight,
+                Math.min(hordeWaveSize(), GameConstants.HORDE_MAX_DEFENDERS - count));
+    }
+
+    /**
+     * Gets the size of each horde wave, which grows with the level.
+     */
+    private int hordeWaveSize() {
+        return Math.min(GameConstants.HORDE_MAX_DEFENDERS, GameConstants.HORDE_WAVE_SIZE * gameState.getLevel());
+    }
+
+    /**
+     * Applies the input posted since the last tick, in the order it was posted.
+     */
+    private void drainInput() {
+        long now = profiler != null ? System.nanoTime() : 0;
+        while (inputQueue.poll()) {
+            applyInput(inputQueue.getAction(), inputQueue.isPressed());
+            if (profiler != null) {
+                profiler.record(TickProfiler.Phase.INPUT, now - inputQueue.getTimestamp());
+            }
+        }
+        int releases = inputQueue.takeReleases();
+        while (releases != 0) {
+            InputQueue.Action action = InputQueue.lowestRelease(releases);
+            releases &= releases - 1;
+            applyInput(action, action == InputQueue.Action.RELEASE_ALL);
+        }
+    }
+
+    private void applyInput(InputQueue.Action action, boolean pressed) {
+        switch (action) {
+            case UP: player.setMovingUp(pressed); break;
+            case DOWN: player.setMovingDown(pressed); break;
+            case LEFT: player.setMovingLeft(pressed); break;
+            case RIGHT: player.setMovingRight(pressed); break;
+            case BOOST:
+                if (!pressed || player.canBoost()) {
+                    player.setBoosting(pressed);
+                }
+                break;
+            case TRUCK: truckRequested = true; break;
+            case RELEASE_ALL:
+                player.setMovingUp(false);
+                player.setMovingDown(false);
+                player.setMovingLeft(false);
+                player.setMovingRight(false);
+                break;
+        }
+    }
+
+    /**
+     * Posts player input for the next tick. Safe to call while the simulation runs on another
+     * thread, but only from one posting thread, normally the Swing event thread.
+     *
+     * @param action the input
+     * @param pressed whether the key went down or up
+     */
+    public void postInput(InputQueue.Action action, boolean pressed) {
+        inputQueue.offer(action, pressed, System.nanoTime());
+    }
+
+    /**
+     * Records the time since the given start for a phase, if profiling.
+     *
+     * @return the current time, to start the next phase from
+     */
+    private long mark(TickProfiler.Phase phase, long start) {
+        if (profiler == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        profiler.record(phase, now - start);
+        return now;
+    }
+    
+    /**
+     * Asks for the player's truck special on the next tick. Going through the simulation
+     * rather than calling {@link Specials#truck()} directly lets the press be recorded.
+     * Must be called from the thread that steps the simulation; other threads post
+     * {@link InputQueue.Action#TRUCK} instead.
+     */
+    public void requestTruck() {
+        truckRequested = true;
+    }
+
+    /**
+     * Updates the field size, e.g. when the window is resized.
+     */
+    public void setFieldSize(int fieldWidth, int fieldHeight) {
+        this.fieldWidth = fieldWidth;
+        this.fieldHeight = fieldHeight;
+    }
+
+    public void setListener(GameEventListener listener) {
+        this.listener = listener;
+    }
+    
+    /**
+     * Records level starts and per-tick input to the given recorder, or stops recording if null.
+     */
+    public void setRecorder(InputRecorder recorder) {
+        this.recorder = recorder;
+    }
+    
+    public InputRecorder getRecorder() { return recorder; }
+    
+    /**
+     * Times each phase of every tick into the given profiler, or stops timing if null.
+     */
+    public void setProfiler(TickProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Gets the random stream for things that do not affect gameplay, such as music.
+     */
+    public GameRandom getPresentationRandom() {
+        return presentationRandom;
+    }
+
+    public long getSeed() { return seed; }
+    public long getTickCount() { return tickCount; }
+    public GameState getGameState() { return gameState; }
+    public Player getPlayer() { return player; }
+    public Offense getOffense() { return offense; }
+    public Defenders getDefenders() { return defenders; }
+    public Outcome getOutcome() { return outcome; }
+    public int getLevelTicks() { return levelTicks; }
+    public int getFieldWidth() { return fieldWidth; }
+    public int getFieldHeight() { return fieldHeight; }
+}
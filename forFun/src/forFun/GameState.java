@@ -11,6 +11,7 @@ public class GameState {
     private int playerStrength;
     private int playerStamina; 
     private int blocker;
+    private boolean hordeMode;
     
     /**
      * Creates a new game state with initial values.
@@ -76,6 +77,28 @@ public class GameState {
         return false;
     }
     
+    /**
+     * Switches horde mode, where defenders keep arriving in waves of hundreds.
+     * Set before the first level starts; it lasts for the whole run.
+     */
+    public void setHordeMode(boolean hordeMode) {
+        this.hordeMode = hordeMode;
+    }
+    
+    /**
+     * Overwrites the whole state, e.g. when replaying a recorded level.
+     */
+    void restore(int level, int score, int pointsScore, int playerSpeed, int playerStrength, 
+            int playerStamina, int blocker) {
+        this.level = level;
+        this.score = score;
+        this.pointsScore = pointsScore;
+        this.playerSpeed = playerSpeed;
+        this.playerStrength = playerStrength;
+        this.playerStamina = playerStamina;
+        this.blocker = blocker;
+    }
+    
     public int getLevel() { return level; }
     public int getScore() { return score; }
     public int getPlayerSpeed() { return playerSpeed; }
@@ -83,4 +106,5 @@ public class GameState {
     public int getPlayerStamina() { return playerStamina; } 
     public int getPointsScore() { return pointsScore; }
     public int getBlockerCount() {return blocker; }
+    public boolean isHordeMode() { return hordeMode; }
 }
\ No newline at end of file
@@ -0,0 +1,235 @@
+package forFun;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Binary format for high score files.
+ * A file is a header (magic number and version) followed by records until the end of the file,
+ * so whole files and append-only logs share one format. Each record is a fixed-width
+ * score, level and epoch-millisecond date, then a length-prefixed UTF-8 name, so any
+ * character is allowed in a name. Files are read through one reusable buffer, and the name
+ * is the only object created per record. A codec is not thread-safe; give each user its own.
+ */
+public class HighScoreCodec {
+    /** "FBHS" */
+    public static final int MAGIC = 0x46424853;
+    public static final short VERSION = 1;
+    public static final int HEADER_BYTES = 4 + 2;
+    private static final int FIXED_RECORD_BYTES = 4 + 4 + 8 + 2;
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+    private static final int READ_BUFFER_BYTES = 128 * 1024; // Fits the longest possible record
+
+    /**
+     * Thrown when a file does not start with a header this codec understands, such as a file
+     * whose header was torn by a crash while it was first being written.
+     */
+    public static class BadHeaderException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public BadHeaderException(String message) {
+            super(message);
+        }
+    }
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(1024);
+    private byte[] nameBytes = new byte[64];
+
+    /**
+     * Encodes a whole file: the header and a record for every score.
+     */
+    public byte[] encodeFile(List<HighScoreManager.HighScore> scores) {
+        writeBuffer.clear();
+        putHeader();
+        for (HighScoreManager.HighScore score : scores) {
+            putRecord(score);
+        }
+        return toBytes();
+    }
+
+    /**
+     * Encodes just the file header, to start an append-only file.
+     */
+    public byte[] encodeHeader() {
+        writeBuffer.clear();
+        putHeader();
+        return toBytes();
+    }
+
+    /**
+     * Encodes a single record, to append to an existing file.
+     */
+    public byte[] encodeRecord(HighScoreManager.HighScore score) {
+        writeBuffer.clear();
+        putRecord(score);
+        return toBytes();
+    }
+
+    /**
+     * Decodes a whole file held in memory.
+     *
+     * @param data the file contents, including the header
+     * @param sink receives each decoded score in file order
+     * @throws BadHeaderException if the header is not one this codec understands
+     */
+    public void decode(ByteBuffer data, Consumer<HighScoreManager.HighScore> sink) throws IOException {
+        checkHeader(data);
+        while (decodeRecord(data, sink)) {
+            // Keep going until the data runs out
+        }
+        if (data.hasRemaining()) {
+            System.err.println("Ignoring " + data.remaining() + " bytes of incomplete high score record");
+        }
+    }
+
+    /**
+     * Streams a file through the read buffer.
+     *
+     * @param file the file to read
+     * @param sink receives each decoded score in file order
+     * @return the length of the file up to the end of the last complete record
+     * @throws BadHeaderException if the file is missing its header or has an unknown one
+     * @throws IOException if the file cannot be read
+     */
+    public long read(Path file, Consumer<HighScoreManager.HighScore> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = readBuffer;
+            buffer.clear();
+            boolean eof = fill(channel, buffer, HEADER_BYTES);
+            checkHeader(buffer);
+            while (true) {
+                while (decodeRecord(buffer, sink)) {
+                    // Decode everything complete in the buffer
+                }
+                if (eof) {
+                    break;
+                }
+                buffer.compact();
+                eof = fill(channel, buffer, buffer.capacity());
+            }
+            if (buffer.hasRemaining()) {
+                // A crash while appending can leave a partial record at the end
+                System.err.println("Ignoring incomplete high score record at the end of " + file);
+            }
+            return channel.position() - buffer.remaining();
+        }
+    }
+
+    /**
+     * Reads the old text format, one "name:score:level:epochMillis" line per score.
+     * Lines are parsed from the right, so names containing ':' survive.
+     *
+     * @param file the legacy file
+     * @param sink receives each parsed score
+     * @throws IOException if the file cannot be read
+     */
+    public static void readLegacy(Path file, Consumer<HighScoreManager.HighScore> sink) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file.toFile()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                HighScoreManager.HighScore score = HighScoreManager.HighScore.fromString(line);
+                if (score != null) {
+                    sink.accept(score);
+                }
+            }
+        }
+    }
+
+    private void putHeader() {
+        ensureWriteCapacity(HEADER_BYTES);
+        writeBuffer.putInt(MAGIC).putShort(VERSION);
+    }
+
+    private void putRecord(HighScoreManager.HighScore score) {
+        byte[] name = score.getPlayerName().getBytes(StandardCharsets.UTF_8);
+        int nameLength = Math.min(name.length, MAX_NAME_BYTES);
+        ensureWriteCapacity(FIXED_RECORD_BYTES + nameLength);
+        writeBuffer.putInt(score.getScore())
+                .putInt(score.getLevel())
+                .putLong(score.getEpochMillis())
+                .putShort((short) nameLength)
+                .put(name, 0, nameLength);
+    }
+
+    private void ensureWriteCapacity(int bytes) {
+        if (writeBuffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(writeBuffer.capacity() * 2, writeBuffer.position() + bytes));
+            writeBuffer.flip();
+            larger.put(writeBuffer);
+            writeBuffer = larger;
+        }
+    }
+
+    private byte[] toBytes() {
+        return Arrays.copyOf(writeBuffer.array(), writeBuffer.position());
+    }
+
+    private static void checkHeader(ByteBuffer buffer) throws BadHeaderException {
+        if (buffer.remaining() < HEADER_BYTES) {
+            throw new BadHeaderException("Missing high score file header");
+        }
+        int magic = buffer.getInt();
+        short version = buffer.getShort();
+        if (magic != MAGIC) {
+            throw new BadHeaderException("Not a high score file");
+        }
+        if (version != VERSION) {
+            throw new BadHeaderException("Unsupported high score file version " + version);
+        }
+    }
+
+    /**
+     * Decodes the next record if all of it is in the buffer.
+     *
+     * @return false, leaving the buffer untouched, if the record is incomplete
+     */
+    private boolean decodeRecord(ByteBuffer buffer, Consumer<HighScoreManager.HighScore> sink) {
+        int start = buffer.position();
+        if (buffer.remaining() < FIXED_RECORD_BYTES) {
+            return false;
+        }
+        int nameLength = buffer.getShort(start + FIXED_RECORD_BYTES - 2) & 0xFFFF;
+        if (buffer.remaining() < FIXED_RECORD_BYTES + nameLength) {
+            return false;
+        }
+        int score = buffer.getInt();
+        int level = buffer.getInt();
+        long epochMillis = buffer.getLong();
+        buffer.getShort();
+        if (nameBytes.length < nameLength) {
+            nameBytes = new byte[Math.max(nameLength, nameBytes.length * 2)];
+        }
+        buffer.get(nameBytes, 0, nameLength);
+        String name = new String(nameBytes, 0, nameLength, StandardCharsets.UTF_8);
+        sink.accept(new HighScoreManager.HighScore(name, score, level, epochMillis));
+        return true;
+    }
+
+    /**
+     * Reads from the channel until the buffer holds at least the given number of bytes or is full,
+     * then flips it for reading.
+     *
+     * @return true if the end of the file was reached
+     */
+    private static boolean fill(FileChannel channel, ByteBuffer buffer, int minBytes) throws IOException {
+        boolean eof = false;
+        while (buffer.position() < minBytes && buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                eof = true;
+                break;
+            }
+        }
+        buffer.flip();
+        return eof;
+    }
+}
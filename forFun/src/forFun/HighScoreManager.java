@@ -1,21 +1,63 @@
 package forFun;
 
 import java.io.*;
-import java.text.SimpleDateFormat;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 /**
  * Manages high scores including loading, saving, and displaying.
+ * There is one shared instance. It parses the file on first use and then serves the cached
+ * scores, rereading only when a file watcher sees another process change the file.
  */
 public class HighScoreManager {
-    private static final String HIGH_SCORE_FILE = "highscores.txt";
+    private static final String HIGH_SCORE_FILE = "highscores.dat";
+    private static final String LEGACY_HIGH_SCORE_FILE = "highscores.txt";
     private static final String GAME_NAME = "BrennansFootball";
+    
+    private static HighScoreManager instance;
+    
+    private final Path filePath;
+    private final HighScoreCodec codec = new HighScoreCodec();
     private ArrayList<HighScore> highScores;
+    private boolean loaded;
+    private volatile boolean stale;
     
     /**
      * Gets the correct path for high score file in AppData directory
      */
     private static String getHighScoreFilePath() {
+        return getDataFilePath(HIGH_SCORE_FILE);
+    }
+    
+    /**
+     * Gets the path for a data file in the game directory.
+     */
+    static String getDataFilePath(String fileName) {
+        File gameDir = getGameDirectory();
+        if (gameDir == null) {
+            // Fallback to current directory as last resort
+            return fileName;
+        }
+        return new File(gameDir, fileName).getAbsolutePath();
+    }
+    
+    /**
+     * Gets the game's data directory in AppData, creating it if needed.
+     *
+     * @return the directory, or null if it could not be created
+     */
+    static File getGameDirectory() {
         String appDataDir = System.getenv("APPDATA");
         if (appDataDir == null) {
             // Fallback for non-Windows systems or if APPDATA isn't set
@@ -28,22 +70,22 @@ public class HighScoreManager {
             boolean created = gameDir.mkdirs(); // Create directory if it doesn't exist
             if (!created) {
                 System.err.println("Warning: Could not create directory: " + gameDir.getAbsolutePath());
-                // Fallback to current directory as last resort
-                return HIGH_SCORE_FILE;
+                return null;
             }
         }
-        
-        return new File(gameDir, HIGH_SCORE_FILE).getAbsolutePath();
+        return gameDir;
     }
     
     /**
      * Represents a single high score entry.
      */
     public static class HighScore implements Comparable<HighScore> {
-        private String playerName;
-        private int score;
-        private int level;
-        private Date date;
+        private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+        
+        private final String playerName;
+        private final int score;
+        private final int level;
+        private final long epochMillis;
         
         /**
          * Creates a new high score entry.
@@ -53,16 +95,24 @@ public class HighScoreManager {
          * @param level the level reached
          */
         public HighScore(String playerName, int score, int level) {
+            this(playerName, score, level, System.currentTimeMillis());
+        }
+        
+        /**
+         * Creates a high score entry for a run that finished at the given time.
+         */
+        public HighScore(String playerName, int score, int level, long epochMillis) {
             this.playerName = playerName;
             this.score = score;
             this.level = level;
-            this.date = new Date();
+            this.epochMillis = epochMillis;
         }
         
         public String getPlayerName() { return playerName; }
         public int getScore() { return score; }
         public int getLevel() { return level; }
-        public Date getDate() { return date; }
+        public Date getDate() { return new Date(epochMillis); }
+        public long getEpochMillis() { return epochMillis; }
         
         @Override
         public int compareTo(HighScore other) {
@@ -71,26 +121,27 @@ public class HighScoreManager {
         
         @Override
         public String toString() {
-            return playerName + ":" + score + ":" + level + ":" + date.getTime();
+            return playerName + ":" + score + ":" + level + ":" + epochMillis;
         }
         
         /**
-         * Creates a HighScore from a string representation.
+         * Creates a HighScore from the legacy text representation.
+         * The fields are found from the right, so everything before the score is the name,
+         * even if it contains ':'.
          *
          * @param line the string representation
          * @return the HighScore object, or null if parsing failed
          */
         public static HighScore fromString(String line) {
             try {
-                String[] parts = line.split(":");
-                if (parts.length >= 4) {
-                    String name = parts[0];
-                    int score = Integer.parseInt(parts[1]);
-                    int level = Integer.parseInt(parts[2]);
-                    long dateMillis = Long.parseLong(parts[3]);
-                    HighScore hs = new HighScore(name, score, level);
-                    hs.date = new Date(dateMillis);
-                    return hs;
+                int dateStart = line.lastIndexOf(':');
+                int levelStart = dateStart > 0 ? line.lastIndexOf(':', dateStart - 1) : -1;
+                int scoreStart = levelStart > 0 ? line.lastIndexOf(':', levelStart - 1) : -1;
+                if (scoreStart >= 0) {
+                    int score = Integer.parseInt(line, scoreStart + 1, levelStart, 10);
+                    int level = Integer.parseInt(line, levelStart + 1, dateStart, 10);
+                    long dateMillis = Long.parseLong(line, dateStart + 1, line.length(), 10);
+                    return new HighScore(line.substring(0, scoreStart), score, level, dateMillis);
                 }
             } catch (Exception e) {
                 System.err.println("Error parsing high score: " + line);
@@ -104,22 +155,88 @@ public class HighScoreManager {
          * @return the formatted string
          */
         public String getDisplayString() {
-            SimpleDateFormat sdf = new SimpleDateFormat("MM/dd/yyyy");
-            return String.format("%-15s %-8d %-6d %-10s", 
-                playerName, score, level, sdf.format(date));
+            String date = DATE_FORMAT.format(Instant.ofEpochMilli(epochMillis).atZone(ZoneId.systemDefault()));
+            return String.format("%-15s %-8d %-6d %-10s", playerName, score, level, date);
+        }
+    }
+    
+    private HighScoreManager() {
+        filePath = Paths.get(getHighScoreFilePath());
+        highScores = new ArrayList<>();
+    }
+    
+    /**
+     * Gets the shared high score manager. Scores are loaded on first access.
+     *
+     * @return the HighScoreManager instance
+     */
+    public static synchronized HighScoreManager getInstance() {
+        if (instance == null) {
+            instance = new HighScoreManager();
         }
+        return instance;
     }
     
     /**
-     * Creates a new high score manager and loads existing scores.
+     * Loads the scores if they have not been loaded yet or the file changed since.
      */
-    public HighScoreManager() {
-        highScores = new ArrayList<>();
-        loadHighScores();
+    private void ensureLoaded() {
+        if (!loaded) {
+            loaded = true;
+            loadHighScores();
+            startWatcher();
+        } else if (stale) {
+            stale = false;
+            loadHighScores();
+        }
+    }
+    
+    /**
+     * Watches the high score file's directory so changes by other processes mark the cache stale.
+     * Without a watcher the cache is simply never refreshed.
+     */
+    private void startWatcher() {
+        Path dir = filePath.toAbsolutePath().getParent();
+        WatchService watcher;
+        try {
+            watcher = FileSystems.getDefault().newWatchService();
+            dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | UnsupportedOperationException e) {
+            System.err.println("Could not watch " + dir + " for high score changes: " + e.getMessage());
+            return;
+        }
+        Thread thread = new Thread(() -> watch(watcher), "HighScoreWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    private void watch(WatchService watcher) {
+        Path fileName = filePath.getFileName();
+        while (true) {
+            WatchKey key;
+            try {
+                key = watcher.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    stale = true;
+                } else if (fileName.equals(event.context())
+                        && !HighScoreWriter.getInstance().isAsLastWritten(filePath)) {
+                    // Our own saves already match the cache, so only someone else's change counts
+                    stale = true;
+                }
+            }
+            if (!key.reset()) {
+                return; // Directory is gone
+            }
+        }
     }
     
     /**
-     * Adds a new high score and saves it.
+     * Adds a new high score and saves it. Every run also goes into the {@link RunHistory}.
      *
      * @param playerName the player name
      * @param score the score achieved
@@ -127,6 +244,13 @@ public class HighScoreManager {
      */
     public void addHighScore(String playerName, int score, int level) {
         HighScore newScore = new HighScore(playerName, score, level);
+        // Outside this manager's lock: the history's load calls back into getHighScores()
+        RunHistory.getInstance().record(newScore);
+        addToTopTen(newScore);
+    }
+    
+    private synchronized void addToTopTen(HighScore newScore) {
+        ensureLoaded();
         highScores.add(newScore);
         Collections.sort(highScores);
         
@@ -138,49 +262,47 @@ public class HighScoreManager {
         saveHighScores();
     }
     
-    public ArrayList<HighScore> getHighScores() {
+    public synchronized ArrayList<HighScore> getHighScores() {
+        ensureLoaded();
         return new ArrayList<>(highScores);
     }
     
     /**
-     * Loads high scores from the file.
+     * Loads high scores from the file, or from a save that has not been written yet.
+     * An old text file is converted the first time it is found.
      */
     private void loadHighScores() {
         highScores.clear();
-        String filePath = getHighScoreFilePath();
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                HighScore score = HighScore.fromString(line);
-                if (score != null) {
-                    highScores.add(score);
+        try {
+            byte[] pending = HighScoreWriter.getInstance().getPending(filePath);
+            if (pending != null) {
+                codec.decode(ByteBuffer.wrap(pending), highScores::add);
+            } else if (Files.exists(filePath)) {
+                codec.read(filePath, highScores::add);
+            } else {
+                Path legacyPath = filePath.resolveSibling(LEGACY_HIGH_SCORE_FILE);
+                if (!Files.exists(legacyPath)) {
+                    // File doesn't exist yet, that's OK
+                    System.out.println("No existing high scores file found. A new one will be created.");
+                    return;
                 }
+                HighScoreCodec.readLegacy(legacyPath, highScores::add);
+                System.out.println("Converting high scores from " + legacyPath);
+                Collections.sort(highScores);
+                saveHighScores();
             }
             Collections.sort(highScores);
-        } catch (FileNotFoundException e) {
-            // File doesn't exist yet, that's OK
-            System.out.println("No existing high scores file found. A new one will be created.");
         } catch (IOException e) {
             System.err.println("Error loading high scores from " + filePath + ": " + e.getMessage());
         }
     }
     
     /**
-     * Saves high scores to the file.
+     * Queues the high scores to be saved to the file in the background.
      */
     private void saveHighScores() {
-        String filePath = getHighScoreFilePath();
-        
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filePath))) {
-            for (HighScore score : highScores) {
-                writer.println(score.toString());
-            }
-            System.out.println("High scores saved to: " + filePath);
-        } catch (IOException e) {
-            System.err.println("Error saving high scores to " + filePath + ": " + e.getMessage());
-            e.printStackTrace();
-        }
+        HighScoreWriter.getInstance().submit(filePath, codec.encodeFile(highScores));
     }
     
     /**
@@ -207,6 +329,24 @@ public class HighScoreManager {
         return sb.toString();
     }
     
+    /**
+     * Gets a line describing where a score ranks among all runs ever played. Does not wait
+     * for the run history to load; says the rank is pending until it has.
+     *
+     * @param score the score to rank
+     * @return the rank text
+     */
+    public static String getAllTimeRankText(int score) {
+        RunHistory history = RunHistory.getInstance();
+        if (!history.isLoaded()) {
+            history.loadInBackground();
+            return "All-Time Rank: pending (run history still loading)";
+        }
+        int rank = history.getRank(score);
+        int runs = Math.max(history.size(), 1);
+        return String.format("All-Time Rank: #%d of %d (top %.1f%%)", rank, runs, 100.0 * rank / runs);
+    }
+    
     /**
      * Debug method to show where the high scores are being stored
      */
@@ -218,7 +358,7 @@ public class HighScoreManager {
      * Test method to verify file writing works
      */
     public static boolean testFileWriting() {
-        String testFilePath = getHighScoreFilePath().replace("highscores.txt", "test_write.tmp");
+        String testFilePath = getDataFilePath("test_write.tmp");
         try {
             File testFile = new File(testFilePath);
             try (PrintWriter writer = new PrintWriter(new FileWriter(testFile))) {
@@ -0,0 +1,232 @@
+package forFun;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes score and replay files on a background thread so the game never waits for the disk.
+ * Only the newest contents of each file are kept, so a burst of saves turns into one write.
+ * Each write goes to a temp file that is synced and then renamed over the real file, so a
+ * crash leaves either the old or the new file, never a half-written one. Append-only files
+ * such as the run history get their lines appended and synced instead. Anything still
+ * pending is written when the JVM shuts down.
+ */
+public class HighScoreWriter {
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final HighScoreWriter instance = new HighScoreWriter();
+
+    private final Map<Path, byte[]> pending = new LinkedHashMap<>(); // Guarded by this
+    private final Map<Path, ByteArrayOutputStream> appends = new LinkedHashMap<>(); // Guarded by this
+    private final Map<Path, FileStamp> written = new HashMap<>(); // Guarded by this
+    private final Object writeLock = new Object();
+    private Thread thread;
+
+    private HighScoreWriter() {
+    }
+
+    public static HighScoreWriter getInstance() {
+        return instance;
+    }
+
+    /**
+     * Queues the given bytes to replace the contents of a file, dropping any older
+     * contents still waiting for the same file.
+     *
+     * @param file the file to write
+     * @param contents the full contents; must not be modified afterwards
+     */
+    public synchronized void submit(Path file, byte[] contents) {
+        pending.put(file, contents);
+        wake();
+    }
+
+    /**
+     * Queues bytes to be appended to a file.
+     *
+     * @param file the file to append to
+     * @param bytes the bytes to append
+     */
+    public synchronized void append(Path file, byte[] bytes) {
+        appends.computeIfAbsent(file, f -> new ByteArrayOutputStream()).writeBytes(bytes);
+        wake();
+    }
+
+    private void wake() {
+        if (thread == null) {
+            thread = new Thread(this::run, "HighScoreWriter");
+            thread.setDaemon(true);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "HighScoreFlush"));
+        }
+        notifyAll();
+    }
+
+    /**
+     * Gets the contents queued for a file that have not reached the disk yet, so a reader
+     * sees the latest scores even while a write is outstanding.
+     *
+     * @return the pending contents, or null if the file on disk is up to date
+     */
+    public synchronized byte[] getPending(Path file) {
+        return pending.get(file);
+    }
+
+    /**
+     * Tells whether a file is still exactly as this writer last saved it, going by its
+     * modified time and size, so a file watcher can ignore the game's own saves.
+     *
+     * @return false if the file was never saved here, has changed since, or cannot be read
+     */
+    public boolean isAsLastWritten(Path file) {
+        FileStamp current = FileStamp.of(file);
+        synchronized (this) {
+            return current != null && current.equals(written.get(file));
+        }
+    }
+
+    /**
+     * Writes everything that is pending on the calling thread.
+     */
+    public void flush() {
+        while (writeNext()) {
+            // Keep going until nothing is left
+        }
+    }
+
+    private void run() {
+        while (true) {
+            synchronized (this) {
+                while (pending.isEmpty() && appends.isEmpty()) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+            writeNext();
+        }
+    }
+
+    /**
+     * Writes the oldest pending file, or failing that, the oldest pending appends.
+     * Holding the write lock from taking the work until it is on disk lets {@link #flush()}
+     * wait for a write the background thread has already started.
+     *
+     * @return false if nothing was pending
+     */
+    private boolean writeNext() {
+        synchronized (writeLock) {
+            Path file;
+            byte[] bytes;
+            boolean append;
+            synchronized (this) {
+                if (!pending.isEmpty()) {
+                    Map.Entry<Path, byte[]> next = pending.entrySet().iterator().next();
+                    file = next.getKey();
+                    bytes = next.getValue();
+                    append = false;
+                } else if (!appends.isEmpty()) {
+                    file = appends.keySet().iterator().next();
+                    bytes = appends.remove(file).toByteArray();
+                    append = true;
+                } else {
+                    return false;
+                }
+            }
+            try {
+                if (append) {
+                    appendBytes(file, bytes);
+                } else {
+                    writeAtomically(file, bytes);
+                    System.out.println("Saved " + file);
+                }
+            } catch (IOException e) {
+                System.err.println("Error saving high scores to " + file + ": " + e.getMessage());
+            }
+            if (!append) {
+                synchronized (this) {
+                    pending.remove(file, bytes); // Unless newer contents arrived in the meantime
+                }
+            }
+            return true;
+        }
+    }
+
+    private static void appendBytes(Path file, byte[] bytes) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file.toFile(), true)) {
+            out.write(bytes);
+            out.getFD().sync();
+        }
+    }
+
+    private void writeAtomically(Path file, byte[] bytes) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+            out.write(bytes);
+            out.getFD().sync();
+        }
+        // The rename keeps the temp file's stamp; taking it first means a watcher woken by the
+        // rename already finds it
+        FileStamp stamp = FileStamp.of(temp);
+        synchronized (this) {
+            written.put(file, stamp);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * A file's modified time and size, enough to tell one save of it from another.
+     */
+    private static final class FileStamp {
+        private final long modifiedMillis;
+        private final long size;
+
+        private FileStamp(long modifiedMillis, long size) {
+            this.modifiedMillis = modifiedMillis;
+            this.size = size;
+        }
+
+        /**
+         * Reads a file's stamp.
+         *
+         * @return the stamp, or null if the file cannot be read
+         */
+        static FileStamp of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new FileStamp(attributes.lastModifiedTime().toMillis(), attributes.size());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof FileStamp)) {
+                return false;
+            }
+            FileStamp stamp = (FileStamp) other;
+            return modifiedMillis == stamp.modifiedMillis && size == stamp.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(modifiedMillis) * 31 + Long.hashCode(size);
+        }
+    }
+}
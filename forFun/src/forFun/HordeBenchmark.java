@@ -0,0 +1,146 @@
+package forFun;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Locale;
+
+/**
+ * Checks that horde mode holds 60 FPS with a full crowd, and while the crowd is growing.
+ * Runs an autopilot horde game on the default field and times every frame as the game does it:
+ * one simulation tick, publishing the render snapshot, and drawing the field into an offscreen
+ * image. The autopilot's levels rarely last the second it takes the game to bring on a wave, so
+ * until the crowd reaches the given number of defenders each frame also spawns a wave, as the
+ * game's wave ticks do. Wave frames and full-crowd frames are reported on their own; levels that
+ * end are restarted outside the timing. Exits with status 1 if the 99th percentile of either
+ * misses the budget.
+ *
+ * <p>Usage: {@code java forFun.HordeBenchmark [defenders] [frames]}
+ * <br>e.g. {@code java forFun.HordeBenchmark 10000 1200}
+ */
+public class HordeBenchmark {
+    private static final int DEFAULT_DEFENDERS = GameConstants.HORDE_MAX_DEFENDERS;
+    private static final int DEFAULT_FRAMES = 1200;
+    private static final int WARMUP_FRAMES = 600;
+    private static final long FRAME_BUDGET_NANOS = 1_000_000_000L / 60;
+    private static final long SEED = 1L;
+
+    private final int width = GameConstants.DEFAULT_FRAME_WIDTH;
+    private final int height = GameConstants.DEFAULT_FRAME_HEIGHT;
+    private final int defenderCount;
+    private final GameSimulation simulation;
+    private final Autopilot autopilot = new Autopilot();
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+    private final Draw draw = new Draw(snapshots);
+    private final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    private final LatencyHistogram publishTimes = new LatencyHistogram();
+    private final LatencyHistogram renderTimes = new LatencyHistogram();
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+    private final LatencyHistogram waveFrameTimes = new LatencyHistogram();
+    private final LatencyHistogram fullFrameTimes = new LatencyHistogram();
+    private int restarts;
+
+    private HordeBenchmark(int defenderCount) {
+        this.defenderCount = defenderCount;
+        GameState gameState = new GameState();
+        gameState.setHordeMode(true);
+        Player player = PlayerFactory.createPlayer("BENCH", gameState);
+        simulation = new GameSimulation(gameState, player, width, height, SEED);
+        simulation.startLevel();
+    }
+
+    public static void main(String[] args) {
+        int defenders = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEFENDERS;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_FRAMES;
+
+        HordeBenchmark benchmark = new HordeBenchmark(defenders);
+        benchmark.run(WARMUP_FRAMES);
+        benchmark.reset();
+        benchmark.run(frames);
+        benchmark.report(frames);
+    }
+
+    private void run(int frames) {
+        Graphics2D g = image.createGraphics();
+        try {
+            for (int frame = 0; frame < frames; frame++) {
+                if (simulation.getOutcome() != GameSimulation.Outcome.RUNNING) {
+                    simulation.startLevel();
+                    restarts++;
+                }
+                autopilot.apply(simulation);
+                Defenders defenders = simulation.getDefenders();
+                int crowd = defenders.getStore().size();
+
+                long start = System.nanoTime();
+                if (crowd < defenderCount) {
+                    defenders.spawnWave(width, height, Math.min(GameConstants.HORDE_WAVE_SIZE, defenderCount - crowd));
+                }
+                simulation.step(1);
+                long ticked = System.nanoTime();
+                snapshots.publish(simulation, null, null);
+                long published = System.nanoTime();
+                draw.render(g, width, height);
+                long rendered = System.nanoTime();
+
+                tickTimes.record(ticked - start);
+                publishTimes.record(published - ticked);
+                renderTimes.record(rendered - published);
+                frameTimes.record(rendered - start);
+                if (defenders.getStore().size() > crowd) {
+                    waveFrameTimes.record(rendered - start);
+                } else {
+                    fullFrameTimes.record(rendered - start);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private void reset() {
+        tickTimes.reset();
+        publishTimes.reset();
+        renderTimes.reset();
+        frameTimes.reset();
+        waveFrameTimes.reset();
+        fullFrameTimes.reset();
+        restarts = 0;
+    }
+
+    private void report(int frames) {
+        System.out.printf(Locale.ROOT, "Horde benchmark: %d defenders, %d frames, %d level restarts%n",
+                defenderCount, frames, restarts);
+        System.out.printf("%-10s %10s %10s %10s%n", "phase", "p50 ms", "p99 ms", "max ms");
+        print("tick", tickTimes);
+        print("publish", publishTimes);
+        print("render", renderTimes);
+        print("frame", frameTimes);
+        print("wave", waveFrameTimes);
+        print("full", fullFrameTimes);
+        System.out.printf(Locale.ROOT, "%d frames spawned a wave, %d ran with the full crowd%n",
+                waveFrameTimes.getCount(), fullFrameTimes.getCount());
+
+        boolean passed = check("wave", waveFrameTimes) & check("full", fullFrameTimes);
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean check(String phase, LatencyHistogram histogram) {
+        long p99 = histogram.getPercentile(0.99);
+        if (p99 > FRAME_BUDGET_NANOS) {
+            System.err.printf(Locale.ROOT, "FAILED: p99 %s frame %.2f ms is over the %.2f ms budget for 60 FPS%n",
+                    phase, p99 / 1e6, FRAME_BUDGET_NANOS / 1e6);
+            return false;
+        }
+        System.out.printf(Locale.ROOT, "OK: p99 %s frame %.2f ms is within the %.2f ms budget for 60 FPS%n",
+                phase, p99 / 1e6, FRAME_BUDGET_NANOS / 1e6);
+        return true;
+    }
+
+    private static void print(String phase, LatencyHistogram histogram) {
+        System.out.printf(Locale.ROOT, "%-10s %10.2f %10.2f %10.2f%n", phase,
+                histogram.getPercentile(0.5) / 1e6, histogram.getPercentile(0.99) / 1e6, histogram.getMax() / 1e6);
+    }
+}
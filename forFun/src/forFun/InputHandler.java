@@ -16,6 +16,8 @@ public class InputHandler {
     private static final String RELEASE_SUFFIX = "Release";
     private static final String PAUSE = "P";
     private static final String BOOST = "SPACE";
+    private static final String PROFILER_OVERLAY = "F3";
+    private static final String RASTER_TOGGLE = "F4";
     
     private PauseMenu pauseMenu;
     private GameState gameState;
@@ -47,6 +49,12 @@ public class InputHandler {
         // Bind special move keys
         bindSpecialMoveKeys(contentPane, drawPanel);
         
+        // Bind profiler overlay key
+        bindProfilerKey(contentPane, drawPanel);
+        
+        // Bind renderer switch key
+        bindRendererKey(contentPane, drawPanel);
+        
         // Add mouse listener
         myFrame.addMouseListener(new MouseAdapter() {
             @Override
@@ -112,8 +120,8 @@ public class InputHandler {
         bindKey(component, BOOST, "BoostPress", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (!pauseMenu.isPaused() && ButtonFunctions.isGameRunning() && player.canBoost()) { // Use static method
-                    player.setBoosting(true);
+                if (!pauseMenu.isPaused() && ButtonFunctions.isGameRunning()) { // Use static method
+                    ButtonFunctions.getSimulation().postInput(InputQueue.Action.BOOST, true);
                     drawPanel.repaint();
                 }
             }
@@ -124,7 +132,7 @@ public class InputHandler {
             @Override
             public void actionPerformed(ActionEvent e) {
                 if (!pauseMenu.isPaused() && ButtonFunctions.isGameRunning()) { // Use static method
-                    player.setBoosting(false);
+                    ButtonFunctions.getSimulation().postInput(InputQueue.Action.BOOST, false);
                     drawPanel.repaint();
                 }
             }
@@ -132,14 +140,15 @@ public class InputHandler {
     }
 
     /**
-     * Sets the movement state based on the key pressed.
+     * Posts the movement input for the key to the simulation.
      */
     private void setMovementState(Player player, String key, boolean pressed) {
+        GameSimulation simulation = ButtonFunctions.getSimulation();
         switch (key) {
-            case "W": player.setMovingUp(pressed); break;
-            case "A": player.setMovingLeft(pressed); break;
-            case "S": player.setMovingDown(pressed); break;
-            case "D": player.setMovingRight(pressed); break;
+            case "W": simulation.postInput(InputQueue.Action.UP, pressed); break;
+            case "A": simulation.postInput(InputQueue.Action.LEFT, pressed); break;
+            case "S": simulation.postInput(InputQueue.Action.DOWN, pressed); break;
+            case "D": simulation.postInput(InputQueue.Action.RIGHT, pressed); break;
         }
     }
     
@@ -155,7 +164,7 @@ public class InputHandler {
             public void actionPerformed(ActionEvent e) {
                 if (ButtonFunctions.isGameRunning() && !pauseMenu.isPaused()) {
                     if (player.getSpecials().isUnlocked()) {
-                        player.getSpecials().truck();
+                        ButtonFunctions.getSimulation().postInput(InputQueue.Action.TRUCK, true);
                         drawPanel.repaint();
                     } else {
                         // Show message that special is locked
@@ -166,6 +175,36 @@ public class InputHandler {
         });
     }
 
+    /**
+     * Binds the key that shows or hides the tick profiler overlay.
+     */
+    private void bindProfilerKey(JComponent component, Draw drawPanel) {
+        bindKey(component, PROFILER_OVERLAY, "ProfilerOverlay", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                TickProfiler.getInstance().toggleOverlay();
+                drawPanel.repaint();
+            }
+        });
+    }
+
+    /**
+     * Binds the key that switches between the Java2D and raster renderers, e.g. to compare
+     * them with the profiler overlay up.
+     */
+    private void bindRendererKey(JComponent component, Draw drawPanel) {
+        bindKey(component, RASTER_TOGGLE, "RasterToggle", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                boolean raster = !drawPanel.isRasterRendering();
+                myFrame.setRasterRendering(raster);
+                drawPanel.setRasterRendering(raster);
+                System.out.println("Renderer: " + (raster ? "raster" : "Java2D"));
+                drawPanel.repaint();
+            }
+        });
+    }
+
     private void showSpecialLockedMessage() {
         // You can show a message or play a sound
         System.out.println("Truck special is locked! Purchase it in the store.");
@@ -0,0 +1,139 @@
+package forFun;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free single-producer, single-consumer ring buffer of input events.
+ * The Swing event thread offers key events and the simulation polls them at the start of
+ * each tick. Each event carries the time it was posted.
+ * Events are stored in parallel primitive arrays, so neither side allocates.
+ * A full queue drops presses but never releases, which would leave the player running:
+ * those are kept in a bitmask that the consumer takes once it has polled everything before them.
+ */
+public class InputQueue {
+    private static final int CAPACITY = 256;
+    private static final int MASK = CAPACITY - 1;
+
+    /**
+     * The inputs a player can give.
+     */
+    public enum Action {
+        UP, DOWN, LEFT, RIGHT, BOOST, TRUCK, RELEASE_ALL;
+
+        private static final Action[] VALUES = values();
+    }
+
+    private final int[] codes = new int[CAPACITY];
+    private final long[] timestamps = new long[CAPACITY];
+    private final AtomicLong head = new AtomicLong(); // Next slot to read, written by the consumer
+    private final AtomicLong tail = new AtomicLong(); // Next slot to write, written by the producer
+    private final AtomicInteger pendingReleases = new AtomicInteger(); // Bit per Action ordinal
+
+    // Producer-side fields
+    private long cachedHead;
+    private long dropped;
+
+    // Consumer-side fields
+    private long cachedTail;
+    private int currentCode;
+    private long currentTimestamp;
+
+    /**
+     * Adds an event. Must only be called from the producer thread.
+     * While releases are waiting in the bitmask, later events go there too or are dropped,
+     * so nothing overtakes them.
+     *
+     * @param action the input
+     * @param pressed whether the key went down or up
+     * @param timestamp the System.nanoTime() when the input happened
+     * @return false if the queue was full and a press was dropped
+     */
+    public boolean offer(Action action, boolean pressed, long timestamp) {
+        if (pendingReleases.get() == 0 && tryOffer(action, pressed, timestamp)) {
+            return true;
+        }
+        if (!pressed || action == Action.RELEASE_ALL) {
+            pendingReleases.accumulateAndGet(1 << action.ordinal(), (a, b) -> a | b);
+            return true;
+        }
+        dropped++;
+        return false;
+    }
+
+    private boolean tryOffer(Action action, boolean pressed, long timestamp) {
+        long t = tail.get();
+        if (t - cachedHead >= CAPACITY) {
+            cachedHead = head.get();
+            if (t - cachedHead >= CAPACITY) {
+                return false;
+            }
+        }
+        int slot = (int) t & MASK;
+        codes[slot] = action.ordinal() << 1 | (pressed ? 1 : 0);
+        timestamps[slot] = timestamp;
+        tail.lazySet(t + 1); // Publishes the slot's contents to the consumer
+        return true;
+    }
+
+    /**
+     * Moves to the next event, whose fields are then available from the getters.
+     * Must only be called from the consumer thread.
+     *
+     * @return false if the queue is empty
+     */
+    public boolean poll() {
+        long h = head.get();
+        if (h == cachedTail) {
+            cachedTail = tail.get();
+            if (h == cachedTail) {
+                return false;
+            }
+        }
+        int slot = (int) h & MASK;
+        currentCode = codes[slot];
+        currentTimestamp = timestamps[slot];
+        head.lazySet(h + 1); // Hands the slot back to the producer
+        return true;
+    }
+
+    public Action getAction() {
+        return Action.VALUES[currentCode >>> 1];
+    }
+
+    public boolean isPressed() {
+        return (currentCode & 1) != 0;
+    }
+
+    public long getTimestamp() {
+        return currentTimestamp;
+    }
+
+    /**
+     * Takes the releases that found the queue full, once every event queued before them has
+     * been polled. Must only be called from the consumer thread.
+     *
+     * @return a bit per released {@link Action} ordinal, or 0 if none are due
+     */
+    public int takeReleases() {
+        // Checked before the queue: while any are pending, nothing new is queued behind them
+        if (pendingReleases.get() == 0 || head.get() != tail.get()) {
+            return 0;
+        }
+        return pendingReleases.getAndSet(0);
+    }
+
+    /**
+     * Gets the action of the lowest bit in a {@link #takeReleases()} mask.
+     */
+    public static Action lowestRelease(int releases) {
+        return Action.VALUES[Integer.numberOfTrailingZeros(releases)];
+    }
+
+    /**
+     * Gets how many presses were dropped because the queue was full. Producer thread only.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,203 @@
+package forFun;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Records a run's player input in a compact binary format for {@link ReplayPlayer}.
+ *
+ * <p>The file starts with a magic number, a version byte, the session seed and the player
+ * name, followed by tagged records. Each level starts with a snapshot of the game state and
+ * player. Input is stored as runs: a varint tick count followed by the input mask held for
+ * those ticks, so only input changes cost space. A horde mode run marks every level start
+ * with a horde record just before it. All integers are unsigned LEB128 varints,
+ * except the seed, which is zigzag encoded first.
+ */
+public class InputRecorder {
+    /** System property overriding where the last run's replay is saved. */
+    public static final String REPLAY_FILE_PROPERTY = "football.replayFile";
+    public static final String DEFAULT_REPLAY_FILE = "last-run.replay";
+
+    static final int MAGIC = 0x46425250; // "FBRP"
+    static final int VERSION = 1;
+
+    static final int TAG_END = 0;
+    static final int TAG_LEVEL_START = 1;
+    static final int TAG_INPUT = 2;
+    static final int TAG_FIELD_SIZE = 3;
+    static final int TAG_LEVEL_END = 4;
+    static final int TAG_HORDE_MODE = 5;
+
+    static final int UP = 1;
+    static final int DOWN = 1 << 1;
+    static final int LEFT = 1 << 2;
+    static final int RIGHT = 1 << 3;
+    static final int BOOST = 1 << 4;
+    static final int TRUCK = 1 << 5;
+
+    static final int SPECIAL_UNLOCKED = 1;
+    static final int SPECIAL_ACTIVE = 1 << 1;
+    static final int SPECIAL_COOLDOWN = 1 << 2;
+
+    private byte[] buffer = new byte[1024];
+    private int size;
+    private int runMask = -1;
+    private int runLength;
+    private int fieldWidth;
+    private int fieldHeight;
+
+    /**
+     * Starts a recording.
+     *
+     * @param seed the seed the run's simulation was created with
+     * @param playerName the player's name
+     */
+    public InputRecorder(long seed, String playerName) {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            writeByte(MAGIC >>> shift);
+        }
+        writeByte(VERSION);
+        writeVarLong((seed << 1) ^ (seed >> 63));
+        byte[] name = playerName.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(name.length);
+        for (byte b : name) {
+            writeByte(b);
+        }
+    }
+
+    /**
+     * Gets the input mask for the player's current movement keys.
+     *
+     * @param player the player
+     * @param truck whether the truck special was requested this tick
+     */
+    static int inputMask(Player player, boolean truck) {
+        int mask = 0;
+        if (player.isMovingUp()) mask |= UP;
+        if (player.isMovingDown()) mask |= DOWN;
+        if (player.isMovingLeft()) mask |= LEFT;
+        if (player.isMovingRight()) mask |= RIGHT;
+        if (player.isBoosting()) mask |= BOOST;
+        if (truck) mask |= TRUCK;
+        return mask;
+    }
+
+    /**
+     * Records the state a level starts from. Called once the level has been set up.
+     */
+    void levelStarted(GameSimulation simulation) {
+        flushRun();
+        GameState gameState = simulation.getGameState();
+        Player player = simulation.getPlayer();
+        Specials specials = player.getSpecials();
+        fieldWidth = simulation.getFieldWidth();
+        fieldHeight = simulation.getFieldHeight();
+
+        int specialFlags = 0;
+        if (specials.isUnlocked()) specialFlags |= SPECIAL_UNLOCKED;
+        if (specials.isTruckActive()) specialFlags |= SPECIAL_ACTIVE;
+        if (specials.isTruckOnCooldown()) specialFlags |= SPECIAL_COOLDOWN;
+
+        if (gameState.isHordeMode()) {
+            writeByte(TAG_HORDE_MODE); // Before the level start, so playback sets the level up the same way
+        }
+        writeByte(TAG_LEVEL_START);
+        writeVarInt(gameState.getLevel());
+        writeVarInt(gameState.getScore());
+        writeVarInt(gameState.getPointsScore());
+        writeVarInt(gameState.getPlayerSpeed());
+        writeVarInt(gameState.getPlayerStrength());
+        writeVarInt(gameState.getPlayerStamina());
+        writeVarInt(gameState.getBlockerCount());
+        writeVarInt(player.getSpeed());
+        writeVarInt(player.getStrength());
+        writeVarInt(player.getStamina());
+        writeVarInt(player.getCurrentStamina());
+        writeVarInt(player.getX());
+        writeVarInt(player.getY());
+        writeVarInt(specialFlags);
+        writeVarInt(specials.getTruckRemainingTicks());
+        writeVarInt(specials.getCooldownRemainingTicks());
+        writeVarInt(fieldWidth);
+        writeVarInt(fieldHeight);
+    }
+
+    /**
+     * Records the input a tick runs with. Called at the start of every tick.
+     */
+    void tick(int mask, int width, int height) {
+        if (width != fieldWidth || height != fieldHeight) {
+            flushRun();
+            fieldWidth = width;
+            fieldHeight = height;
+            writeByte(TAG_FIELD_SIZE);
+            writeVarInt(width);
+            writeVarInt(height);
+        }
+        if (mask != runMask) {
+            flushRun();
+            runMask = mask;
+        }
+        runLength++;
+    }
+
+    /**
+     * Records how a level ended, so playback can check it reproduced the same result.
+     */
+    void levelEnded(GameSimulation.Outcome outcome, int levelTicks) {
+        flushRun();
+        writeByte(TAG_LEVEL_END);
+        writeVarInt(outcome.ordinal());
+        writeVarInt(levelTicks);
+    }
+
+    /**
+     * Gets the recording so far as the contents of a replay file.
+     */
+    public byte[] toBytes() {
+        flushRun();
+        byte[] bytes = Arrays.copyOf(buffer, size + 1);
+        bytes[size] = TAG_END;
+        return bytes;
+    }
+
+    /**
+     * Gets the number of bytes recorded so far.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void flushRun() {
+        if (runLength > 0) {
+            writeByte(TAG_INPUT);
+            writeVarInt(runLength);
+            writeByte(runMask);
+            runLength = 0;
+        }
+        runMask = -1;
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    private void writeByte(int value) {
+        if (size == buffer.length) {
+            buffer = Arrays.copyOf(buffer, size * 2);
+        }
+        buffer[size++] = (byte) value;
+    }
+}
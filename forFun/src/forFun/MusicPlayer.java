@@ -0,0 +1,239 @@
+package forFun;
+
+import javax.sound.sampled.*;
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * Streams one music track at a time to a SourceDataLine on its own thread.
+ * The track is decoded a small chunk at a time straight from its resource, so only the
+ * playing track holds any buffers and nothing is decoded up front. Control methods can be
+ * called from any thread; the audio thread picks up changes between chunks.
+ */
+public class MusicPlayer implements Runnable {
+    private static final int CHUNK_BYTES = 8 * 1024;
+    private static final float LINE_BUFFER_SECONDS = 0.1f;
+
+    private final Object lock = new Object();
+    private final byte[] chunk = new byte[CHUNK_BYTES];
+
+    // Requested state, guarded by lock
+    private URL requestedTrack;
+    private boolean requestedLoop;
+    private boolean paused;
+    private boolean closed;
+    private long generation;
+
+    private volatile float volume = 0.5f;
+    private Thread thread;
+
+    // Audio thread state
+    private AudioInputStream stream;
+    private SourceDataLine line;
+    private boolean lineStarted;
+    private long playingGeneration = -1;
+    private float appliedVolume = -1;
+
+    /**
+     * Starts playing a track from the beginning, replacing whatever was playing.
+     *
+     * @param track the audio resource
+     * @param loop whether to start over when the track ends
+     */
+    public void play(URL track, boolean loop) {
+        synchronized (lock) {
+            requestedTrack = track;
+            requestedLoop = loop;
+            paused = false;
+            generation++;
+            if (thread == null) {
+                thread = new Thread(this, "Music");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Pauses the current track, keeping its position for {@link #resume()}.
+     */
+    public void stop() {
+        synchronized (lock) {
+            paused = true;
+        }
+    }
+
+    /**
+     * Continues the current track from where it was stopped.
+     */
+    public void resume() {
+        synchronized (lock) {
+            paused = false;
+            lock.notifyAll();
+        }
+    }
+
+    public boolean isPlaying() {
+        synchronized (lock) {
+            return requestedTrack != null && !paused;
+        }
+    }
+
+    /**
+     * Sets the volume from 0 to 1. Takes effect within one chunk.
+     */
+    public void setVolume(float volume) {
+        this.volume = volume;
+    }
+
+    /**
+     * Stops playback for good and releases the line.
+     */
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            requestedTrack = null;
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            URL track;
+            boolean loop;
+            long trackGeneration;
+            synchronized (lock) {
+                while (!closed && (requestedTrack == null || paused)) {
+                    if (lineStarted) {
+                        line.stop(); // Keep what is buffered for resume
+                        lineStarted = false;
+                    }
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        closed = true;
+                    }
+                }
+                if (closed) {
+                    break;
+                }
+                track = requestedTrack;
+                loop = requestedLoop;
+                trackGeneration = generation;
+            }
+
+            try {
+                if (trackGeneration != playingGeneration) {
+                    open(track);
+                    playingGeneration = trackGeneration;
+                }
+                if (!lineStarted) {
+                    line.start();
+                    lineStarted = true;
+                }
+                applyVolume();
+                int read = stream.read(chunk, 0, chunk.length - chunk.length % stream.getFormat().getFrameSize());
+                if (read > 0) {
+                    line.write(chunk, 0, read);
+                } else if (read < 0) {
+                    if (loop) {
+                        closeStream();
+                        stream = openStream(track);
+                    } else {
+                        line.drain();
+                        finished(trackGeneration);
+                    }
+                }
+            } catch (IOException | UnsupportedAudioFileException | LineUnavailableException
+                    | IllegalArgumentException e) {
+                System.err.println("Error streaming music " + track + ": " + e.getMessage());
+                finished(trackGeneration);
+            }
+        }
+        release();
+    }
+
+    /**
+     * Releases the track's buffers once it is over, and clears the request unless another
+     * track was asked for meanwhile.
+     */
+    private void finished(long trackGeneration) {
+        release();
+        synchronized (lock) {
+            if (generation == trackGeneration) {
+                requestedTrack = null;
+            }
+        }
+    }
+
+    private void release() {
+        closeStream();
+        if (line != null) {
+            line.close();
+            line = null;
+            lineStarted = false;
+        }
+        playingGeneration = -1;
+    }
+
+    /**
+     * Opens a track, reusing the line if the new track has the same format.
+     */
+    private void open(URL track) throws IOException, UnsupportedAudioFileException, LineUnavailableException {
+        closeStream();
+        stream = openStream(track);
+        AudioFormat format = stream.getFormat();
+        if (line != null && !line.getFormat().matches(format)) {
+            line.close();
+            line = null;
+            lineStarted = false;
+        }
+        if (line == null) {
+            line = AudioSystem.getSourceDataLine(format);
+            int frames = Math.max(1, (int) (format.getFrameRate() * LINE_BUFFER_SECONDS));
+            line.open(format, frames * format.getFrameSize());
+            appliedVolume = -1;
+        } else {
+            line.flush(); // Drop the rest of the previous track
+        }
+    }
+
+    /**
+     * Opens a resource as signed PCM, converting compressed formats on the fly.
+     */
+    private static AudioInputStream openStream(URL track) throws IOException, UnsupportedAudioFileException {
+        AudioInputStream in = AudioSystem.getAudioInputStream(track);
+        AudioFormat format = in.getFormat();
+        if (format.getEncoding() == AudioFormat.Encoding.PCM_SIGNED
+                || format.getEncoding() == AudioFormat.Encoding.PCM_UNSIGNED) {
+            return in;
+        }
+        AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, format.getSampleRate(), 16,
+                format.getChannels(), format.getChannels() * 2, format.getSampleRate(), false);
+        return AudioSystem.getAudioInputStream(pcm, in);
+    }
+
+    private void closeStream() {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                System.err.println("Error closing music stream: " + e.getMessage());
+            }
+            stream = null;
+        }
+    }
+
+    private void applyVolume() {
+        float vol = volume;
+        if (vol == appliedVolume || !line.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
+            return;
+        }
+        FloatControl gainControl = (FloatControl) line.getControl(FloatControl.Type.MASTER_GAIN);
+        float dB = (float) (Math.log(vol == 0.0 ? 0.0001 : vol) / Math.log(10.0) * 20.0);
+        gainControl.setValue(Math.max(gainControl.getMinimum(), Math.min(gainControl.getMaximum(), dB)));
+        appliedVolume = vol;
+    }
+}
@@ -13,7 +13,17 @@ import javax.swing.JPanel;
  * Custom frame class for the football game.
  */
 public class MyFrame extends JFrame {
+    /** System property that turns on active rendering, e.g. -Dfootball.activeRendering=true */
+    public static final String ACTIVE_RENDERING_PROPERTY = "football.activeRendering";
+    /** System property that turns off the dedicated simulation thread, e.g. -Dfootball.simulationThread=false */
+    public static final String SIMULATION_THREAD_PROPERTY = "football.simulationThread";
+    /** System property that starts with the raster renderer, e.g. -Dfootball.rasterRendering=true */
+    public static final String RASTER_RENDERING_PROPERTY = "football.rasterRendering";
+    
     private JPanel contentPanel;
+    private boolean activeRendering = Boolean.getBoolean(ACTIVE_RENDERING_PROPERTY);
+    private boolean simulationThread = !"false".equalsIgnoreCase(System.getProperty(SIMULATION_THREAD_PROPERTY));
+    private boolean rasterRendering = Boolean.getBoolean(RASTER_RENDERING_PROPERTY);
     
     /**
      * Creates a new game frame with standardized settings.
@@ -82,4 +92,59 @@ public class MyFrame extends JFrame {
     public JPanel getContentPanel() {
         return contentPanel;
     }
+    
+    /**
+     * Checks whether gameplay is drawn by a dedicated render loop instead of Swing repaints.
+     *
+     * @return true if active rendering is enabled
+     */
+    public boolean isActiveRendering() {
+        return activeRendering;
+    }
+    
+    /**
+     * Enables or disables active rendering. Takes effect when the next level starts.
+     *
+     * @param activeRendering true to draw gameplay with a BufferStrategy render loop
+     */
+    public void setActiveRendering(boolean activeRendering) {
+        this.activeRendering = activeRendering;
+    }
+    
+    /**
+     * Checks whether the playfield is drawn by writing pixels directly instead of through Java2D.
+     *
+     * @return true if the raster renderer is selected
+     */
+    public boolean isRasterRendering() {
+        return rasterRendering;
+    }
+    
+    /**
+     * Selects the raster renderer or the Java2D one for the playfield.
+     * The caller switches the current playfield; later levels pick the setting up.
+     *
+     * @param rasterRendering true to write pixels directly
+     */
+    public void setRasterRendering(boolean rasterRendering) {
+        this.rasterRendering = rasterRendering;
+    }
+    
+    /**
+     * Checks whether the game ticks on its own thread rather than on the Swing event thread.
+     *
+     * @return true if the simulation runs on a dedicated thread
+     */
+    public boolean isSimulationThread() {
+        return simulationThread;
+    }
+    
+    /**
+     * Chooses where the game ticks. Takes effect when the next level starts.
+     *
+     * @param simulationThread true to tick on a dedicated thread, false to use a Swing timer
+     */
+    public void setSimulationThread(boolean simulationThread) {
+        this.simulationThread = simulationThread;
+    }
 }
\ No newline at end of file
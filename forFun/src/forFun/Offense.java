@@ -1,13 +1,24 @@
 package forFun;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Represents the offensive team including the main player and blockers.
  */
 public class Offense {
+    /** The most defenders considered for blocking, nearest to the ball carrier first. */
+    private static final int MAX_TARGET_CANDIDATES = 64;
+    
     private final Player mainPlayer;
     private final ArrayList<Blocker> blockers;
+    private final ArrayList<Player> blockerPlayers;
+    private final List<Player> blockerPlayersView;
+    private final AssignmentSolver assignmentSolver = new AssignmentSolver();
+    private int[] activeBlockers;
+    private int[] openDefenders;
+    private double[] threatLevels;
     private final Defenders defenders;
     private final int level;
 
@@ -70,25 +81,43 @@ public class Offense {
         this.mainPlayer.setY(frameHeight / 2);
 
         blockers = new ArrayList<>();
+        blockerPlayers = new ArrayList<>();
         for (int i = 0; i < blockerCount; i++) {
             Player blockerPlayer = new Player("BLOCKER" + (i + 1));
             blockerPlayer.setX(frameWidth / 4);
             blockerPlayer.setY(frameHeight / 3 + i * (frameHeight / 3));
             blockerPlayer.setSpeed(2 + (level / 2));
             blockers.add(new Blocker(blockerPlayer));
+            blockerPlayers.add(blockerPlayer);
         }
+        blockerPlayersView = Collections.unmodifiableList(blockerPlayers);
+        
+        // Size the per-tick targeting buffers up front so ticks don't allocate
+        int defenderCount = defenders.getStore().size();
+        activeBlockers = new int[blockerCount];
+        openDefenders = new int[defenderCount];
+        threatLevels = new double[defenderCount];
+        assignmentSolver.reset(blockerCount, defenderCount);
     }
 
     public Player getMainPlayer() {
         return mainPlayer;
     }
 
-    public ArrayList<Player> getBlockers() {
-        ArrayList<Player> blockerPlayers = new ArrayList<>();
-        for (Blocker blocker : blockers) {
-            blockerPlayers.add(blocker.getPlayer());
-        }
-        return blockerPlayers;
+    /**
+     * Gets a live, read-only view of the blocker players. The view is created once,
+     * so calling this every tick does not allocate.
+     */
+    public List<Player> getBlockers() {
+        return blockerPlayersView;
+    }
+
+    public int getBlockerCount() {
+        return blockers.size();
+    }
+
+    public Player getBlocker(int index) {
+        return blockerPlayers.get(index);
     }
 
     /**
@@ -107,98 +136,126 @@ public class Offense {
     }
 
     /**
-     * Updates blocker positions and states
+     * Updates blocker positions and states.
+     * Available blockers are matched to free defenders as a single minimum-cost
+     * assignment each tick, so no two blockers chase the same defender.
      */
     private void updateBlockers(int frameWidth, int frameHeight) {
-        for (Blocker blocker : blockers) {
+        if (activeBlockers.length < blockers.size()) {
+            activeBlockers = new int[blockers.size()];
+        }
+        int activeCount = 0;
+        for (int i = 0; i < blockers.size(); i++) {
+            Blocker blocker = blockers.get(i);
             blocker.reduceRecoveryTimer();
-            
             if (!blocker.isRecovering()) {
-                if (!chaseDefenders(blocker, frameWidth, frameHeight)) {
-                    moveToInterceptPosition(blocker, frameWidth, frameHeight);
-                }
+                activeBlockers[activeCount++] = i;
+            }
+        }
+        
+        int[] assignment = assignTargets(activeCount);
+        ArrayList<Defenders.Defender> defenderList = defenders.getDefenders();
+        for (int k = 0; k < activeCount; k++) {
+            Blocker blocker = blockers.get(activeBlockers[k]);
+            int target = assignment == null ? -1 : assignment[k];
+            if (target == -1) {
+                moveToInterceptPosition(blocker, frameWidth, frameHeight);
+            } else {
+                Defenders.Defender defender = defenderList.get(openDefenders[target]);
+                blocker.setCurrentTarget(defender);
+                chaseSpecificDefender(blocker, defender, frameWidth, frameHeight);
             }
         }
     }
 
     /**
-     * Makes blockers chase nearby defenders
+     * Builds the blocker-by-defender cost matrix and solves it.
+     * The cost of a pairing is the blocker's distance to the defender plus half of the
+     * defender's distance to the ball carrier, so closer threats are covered first.
+     *
+     * @param activeCount the number of entries in activeBlockers
+     * @return for each active blocker, its column in openDefenders or -1; null if nothing can be assigned
      */
-    private boolean chaseDefenders(Blocker blocker, int frameWidth, int frameHeight) {
-        Player blockerPlayer = blocker.getPlayer();
+    private int[] assignTargets(int activeCount) {
+        DefenderStore store = defenders.getStore();
+        int[] xs = store.getXs();
+        int[] ys = store.getYs();
+        int[] stuckTimers = store.getStuckTimers();
         
-        // Clear invalid targets
-        if (blocker.getCurrentTarget() != null) {
-            boolean targetValid = false;
-            for (Defenders.Defender defender : defenders.getDefenders()) {
-                if (defender == blocker.getCurrentTarget() && !defender.isStopped()) {
-                    targetValid = true;
-                    break;
-                }
-            }
-            if (!targetValid) {
-                blocker.clearTarget();
+        if (openDefenders.length < store.size()) {
+            openDefenders = new int[store.size()];
+            threatLevels = new double[store.size()];
+        }
+        int openCount = 0;
+        for (int i = 0; i < store.size(); i++) {
+            if (stuckTimers[i] == 0) {
+                double dx = xs[i] - mainPlayer.getX();
+                double dy = ys[i] - mainPlayer.getY();
+                threatLevels[openCount] = Math.sqrt(dx * dx + dy * dy);
+                openDefenders[openCount++] = i;
             }
         }
-        
-        // Chase current target if available
-        if (blocker.getCurrentTarget() != null && !blocker.getCurrentTarget().isStopped()) {
-            return chaseSpecificDefender(blocker, blocker.getCurrentTarget(), frameWidth, frameHeight);
+        if (activeCount == 0 || openCount == 0) {
+            return null;
         }
-        
-        // Find new target
-        Defenders.Defender bestTarget = findBestDefenderTarget(blockerPlayer);
-        if (bestTarget != null) {
-            blocker.setCurrentTarget(bestTarget);
-            return chaseSpecificDefender(blocker, bestTarget, frameWidth, frameHeight);
+        if (openCount > MAX_TARGET_CANDIDATES) {
+            // In a horde only the nearest threats matter, and the solver is linear in the columns
+            selectNearest(openCount, MAX_TARGET_CANDIDATES);
+            openCount = MAX_TARGET_CANDIDATES;
         }
         
-        return false;
+        assignmentSolver.reset(activeCount, openCount);
+        for (int k = 0; k < activeCount; k++) {
+            Player blockerPlayer = blockers.get(activeBlockers[k]).getPlayer();
+            for (int j = 0; j < openCount; j++) {
+                double dx = xs[openDefenders[j]] - blockerPlayer.getX();
+                double dy = ys[openDefenders[j]] - blockerPlayer.getY();
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                assignmentSolver.setCost(k, j, distance + (threatLevels[j] * 0.5));
+            }
+        }
+        return assignmentSolver.solve();
     }
 
     /**
-     * Finds the best defender target for a blocker
+     * Reorders the open defenders so the first k are the ones nearest the ball carrier,
+     * in no particular order, by quickselect on their threat levels.
      */
-    private Defenders.Defender findBestDefenderTarget(Player blockerPlayer) {
-        Defenders.Defender bestDefender = null;
-        double bestScore = Double.MAX_VALUE;
-        
-        for (Defenders.Defender defender : defenders.getDefenders()) {
-            if (defender.isStopped() || isDefenderTargeted(defender)) {
-                continue;
+    private void selectNearest(int openCount, int k) {
+        int left = 0;
+        int right = openCount - 1;
+        while (left < right) {
+            double pivot = threatLevels[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (threatLevels[i] < pivot) {
+                    i++;
+                }
+                while (threatLevels[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swapOpen(i++, j--);
+                }
             }
-            
-            double distance = Math.sqrt(
-                Math.pow(defender.getX() - blockerPlayer.getX(), 2) + 
-                Math.pow(defender.getY() - blockerPlayer.getY(), 2)
-            );
-            
-            double threatLevel = Math.sqrt(
-                Math.pow(defender.getX() - mainPlayer.getX(), 2) + 
-                Math.pow(defender.getY() - mainPlayer.getY(), 2)
-            );
-            
-            double score = distance + (threatLevel * 0.5);
-            
-            if (score < bestScore) {
-                bestScore = score;
-                bestDefender = defender;
+            if (k - 1 <= j) {
+                right = j;
+            } else if (k - 1 >= i) {
+                left = i;
+            } else {
+                return;
             }
         }
-        
-        return bestDefender;
     }
 
-    /**
-     * Checks if a defender is already targeted
-     */
-    private boolean isDefenderTargeted(Defenders.Defender defender) {
-        for (Blocker blocker : blockers) {
-            if (blocker.getCurrentTarget() == defender) {
-                return true;
-            }
-        }
-        return false;
+    private void swapOpen(int i, int j) {
+        double threat = threatLevels[i];
+        threatLevels[i] = threatLevels[j];
+        threatLevels[j] = threat;
+        int defender = openDefenders[i];
+        openDefenders[i] = openDefenders[j];
+        openDefenders[j] = defender;
     }
 
     /**
@@ -64,7 +64,7 @@ public class PauseMenu {
         pauseDialog.add(titleLabel, BorderLayout.NORTH);
         pauseDialog.add(buttonPanel, BorderLayout.CENTER);
         pauseDialog.setVisible(true);
-        ButtonFunctions.resetPlayerMovement(player);
+        ButtonFunctions.getSimulation().postInput(InputQueue.Action.RELEASE_ALL, true);
     }
     
     /**
@@ -93,6 +93,7 @@ public class PauseMenu {
         if (pauseDialog != null) {
             pauseDialog.dispose();
         }
+        ButtonFunctions.stopGame();
         
         // Reset music state
         SoundManager.getInstance().resetMusic();
@@ -112,6 +113,7 @@ public class PauseMenu {
         if (pauseDialog != null) {
             pauseDialog.dispose();
         }
+        ButtonFunctions.stopGame();
         
         // Reset music state
         SoundManager.getInstance().resetMusic();
@@ -102,6 +102,19 @@ public class Player {
     }
     
     public void draw(Graphics g) {
+        drawSpecials(g);
+        
+        // Draw player normally
+        g.setColor(GameConstants.PLAYER_RED);
+        g.fillOval(x, y, GameConstants.PLAYER_SIZE, GameConstants.PLAYER_SIZE);
+        
+        drawFootball(g);
+    }
+
+    /**
+     * Draws the truck effects, lock and timer that go around the player, behind the player itself.
+     */
+    public void drawSpecials(Graphics g) {
         // Draw special effects first (behind player)
         specials.drawPlayerEffects(g, x, y);
         
@@ -112,12 +125,6 @@ public class Player {
         if (specials.isUnlocked()) {
             specials.drawTimerBar(g, x, y);
         }
-        
-        // Draw player normally
-        g.setColor(GameConstants.PLAYER_RED);
-        g.fillOval(x, y, GameConstants.PLAYER_SIZE, GameConstants.PLAYER_SIZE);
-        
-        drawFootball(g);
     }
 
     private void drawPlayer(Graphics g) {
@@ -127,27 +134,51 @@ public class Player {
 
     private void drawFootball(Graphics g) {
         g.setColor(GameConstants.FOOTBALL_BROWN);
-        int[] footballPosition = calculateFootballPosition();
-        g.fillOval(footballPosition[0], footballPosition[1], GameConstants.FOOTBALL_WIDTH, GameConstants.FOOTBALL_HEIGHT);
+        g.fillOval(getFootballX(), getFootballY(), GameConstants.FOOTBALL_WIDTH, GameConstants.FOOTBALL_HEIGHT);
+    }
+
+    /**
+     * Gets the left edge of the football, which is carried on the side the player is heading.
+     */
+    public int getFootballX() {
+        if (!movingUp && !movingDown || movingUp && movingDown) {
+            if (movingLeft && !movingRight) {
+                return x - GameConstants.FOOTBALL_WIDTH - 5;
+            } else if (movingRight && !movingLeft) {
+                return x + GameConstants.PLAYER_SIZE + 5;
+            }
+        }
+        return x + GameConstants.PLAYER_SIZE / 2 - GameConstants.FOOTBALL_WIDTH / 2;
     }
 
-    private int[] calculateFootballPosition() {
-        int footballX = x + GameConstants.PLAYER_SIZE / 2 - GameConstants.FOOTBALL_WIDTH / 2;
-        int footballY = y - GameConstants.FOOTBALL_HEIGHT - 5;
-        
+    /**
+     * Gets the top edge of the football.
+     */
+    public int getFootballY() {
         if (movingUp && !movingDown) {
-            footballY = y - GameConstants.FOOTBALL_HEIGHT - 5;
+            return y - GameConstants.FOOTBALL_HEIGHT - 5;
         } else if (movingDown && !movingUp) {
-            footballY = y + GameConstants.PLAYER_SIZE + 5;
-        } else if (movingLeft && !movingRight) {
-            footballX = x - GameConstants.FOOTBALL_WIDTH - 5;
-            footballY = y + GameConstants.PLAYER_SIZE / 2 - GameConstants.FOOTBALL_HEIGHT / 2;
-        } else if (movingRight && !movingLeft) {
-            footballX = x + GameConstants.PLAYER_SIZE + 5;
-            footballY = y + GameConstants.PLAYER_SIZE / 2 - GameConstants.FOOTBALL_HEIGHT / 2;
+            return y + GameConstants.PLAYER_SIZE + 5;
+        } else if (movingLeft != movingRight) {
+            return y + GameConstants.PLAYER_SIZE / 2 - GameConstants.FOOTBALL_HEIGHT / 2;
         }
-        
-        return new int[]{footballX, footballY};
+        return y - GameConstants.FOOTBALL_HEIGHT - 5;
+    }
+    
+    /**
+     * Copies everything drawing needs from another player, e.g. into a render snapshot.
+     */
+    public void copyDrawStateFrom(Player source) {
+        this.x = source.x;
+        this.y = source.y;
+        this.movingUp = source.movingUp;
+        this.movingDown = source.movingDown;
+        this.movingLeft = source.movingLeft;
+        this.movingRight = source.movingRight;
+        this.isBoosting = source.isBoosting;
+        this.stamina = source.stamina;
+        this.currentStamina = source.currentStamina;
+        this.specials.copyStateFrom(source.specials);
     }
     
     public void resetStamina() {
@@ -194,6 +225,7 @@ public class Player {
     public void setMovingLeft(boolean movingLeft) { this.movingLeft = movingLeft; }
     public void setMovingRight(boolean movingRight) { this.movingRight = movingRight; }
     public void setBoosting(boolean boosting) { this.isBoosting = boosting; }
+    public void setCurrentStamina(int currentStamina) { this.currentStamina = currentStamina; }
     public void setLevel(int level) { this.level = level; }
     public void setXp(int xp) { this.xp = xp; }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package forFun;
 
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import javax.swing.JDialog;
 import javax.swing.JOptionPane;
 
 /**
@@ -8,6 +11,7 @@ import javax.swing.JOptionPane;
 public class PopUp {
     private String playerName;
     private final MyFrame myFrame;
+    private final Runnable onShown;
     private static String lastPlayerName = "Player";
 
     /**
@@ -16,7 +20,18 @@ public class PopUp {
      * @param myFrame the parent frame
      */
     public PopUp(MyFrame myFrame) {
+        this(myFrame, null);
+    }
+
+    /**
+     * Creates a new popup for player name input.
+     *
+     * @param myFrame the parent frame
+     * @param onShown run on the event thread once the dialog is open, or null
+     */
+    public PopUp(MyFrame myFrame, Runnable onShown) {
         this.myFrame = myFrame;
+        this.onShown = onShown;
         this.playerName = createCharacter();
     }
 
@@ -26,7 +41,7 @@ public class PopUp {
      * @return the entered player name
      */
     public String createCharacter() {
-        String playerName = JOptionPane.showInputDialog(myFrame, "Enter your name:", "Player Name", JOptionPane.PLAIN_MESSAGE);
+        String playerName = showNameDialog();
         if (playerName == null || playerName.trim().isEmpty()) {
             playerName = lastPlayerName;
         } else {
@@ -36,6 +51,31 @@ public class PopUp {
         return this.playerName;
     }
 
+    /**
+     * Shows the same dialog as {@link JOptionPane#showInputDialog}, built by hand so it can
+     * report when it opens.
+     *
+     * @return the text entered, or null if the dialog was cancelled
+     */
+    private String showNameDialog() {
+        JOptionPane pane = new JOptionPane("Enter your name:", JOptionPane.PLAIN_MESSAGE, JOptionPane.OK_CANCEL_OPTION);
+        pane.setWantsInput(true);
+        JDialog dialog = pane.createDialog(myFrame, "Player Name");
+        if (onShown != null) {
+            dialog.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent e) {
+                    onShown.run();
+                }
+            });
+        }
+        pane.selectInitialValue();
+        dialog.setVisible(true);
+        dialog.dispose();
+        Object value = pane.getInputValue();
+        return value == JOptionPane.UNINITIALIZED_VALUE ? null : (String) value;
+    }
+
     public String getPlayerName() {
         return playerName;
     }
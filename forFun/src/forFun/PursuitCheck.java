@@ -0,0 +1,206 @@
+package forFun;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * Checks the Vector API pursuit kernel against the scalar reference and times both.
+ * Crowds of several sizes, including ones that leave a partial vector at the end, are stepped
+ * toward a wandering target that sometimes sits on a defender or off the field, so the
+ * divide-by-zero guard and the clamping are exercised too. Each step starts both kernels from
+ * the reference positions, so differences are measured per step rather than compounded.
+ * Exits with status 1 if any coordinate differs by more than {@link PursuitKernel#TOLERANCE}.
+ * Also reports what each kernel allocates once warmed up, measured per step the way
+ * {@link AllocationCheck} measures ticks; the vector kernel is allowed to allocate.
+ *
+ * <p>The vector kernel is compiled from {@code src-vector}; run with
+ * {@code --add-modules jdk.incubator.vector}, or the check is skipped.
+ *
+ * <p>Usage: {@code java --add-modules jdk.incubator.vector forFun.PursuitCheck [steps]}
+ */
+public class PursuitCheck {
+    private static final int[] COUNTS = {1, 7, 17, 1000, GameConstants.HORDE_MAX_DEFENDERS};
+    private static final int DEFAULT_STEPS = 2000;
+    private static final int TIMING_ROUNDS = 20000;
+    private static final int ALLOCATION_STEPS = 2000;
+    private static final int MIN_SPEED = 2;
+    private static final int MAX_SPEED = 11;
+    private static final int STUCK_ONE_IN = 5;
+    private static final long SEED = 7L;
+
+    private static final int WIDTH = GameConstants.DEFAULT_FRAME_WIDTH;
+    private static final int HEIGHT = GameConstants.DEFAULT_FRAME_HEIGHT;
+    private static final int MAX_X = WIDTH - GameConstants.DEFENDER_SIZE;
+    private static final int MAX_Y = HEIGHT - GameConstants.DEFENDER_SIZE;
+
+    public static void main(String[] args) {
+        int steps = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_STEPS;
+
+        PursuitKernel vector = AIController.loadVectorKernel();
+        if (vector == null) {
+            System.out.println("Pursuit check skipped: run with --add-modules jdk.incubator.vector "
+                    + "and src-vector on the classpath.");
+            return;
+        }
+
+        int worst = 0;
+        System.out.printf("%9s %14s %14s%n", "defenders", "max deviation", "differing");
+        for (int count : COUNTS) {
+            long[] result = compare(vector, count, steps);
+            worst = Math.max(worst, (int) result[0]);
+            System.out.printf(Locale.ROOT, "%9d %14d %13.4f%%%n", count, result[0],
+                    100.0 * result[1] / (2L * count * steps));
+        }
+
+        int count = GameConstants.HORDE_MAX_DEFENDERS;
+        double scalarNanos = time(AIController.SCALAR_KERNEL, count);
+        double vectorNanos = time(vector, count);
+        System.out.printf(Locale.ROOT, "%d defenders: scalar %.3f ns, vector %.3f ns per defender (%.2fx)%n",
+                count, scalarNanos, vectorNanos, scalarNanos / vectorNanos);
+
+        reportAllocation(vector);
+
+        if (worst > PursuitKernel.TOLERANCE) {
+            System.err.println("FAILED: vector pursuit is off by " + worst + " pixels, tolerance is "
+                    + PursuitKernel.TOLERANCE);
+            System.exit(1);
+        }
+        System.out.println("OK: vector pursuit is within " + PursuitKernel.TOLERANCE + " pixel of scalar pursuit");
+    }
+
+    /**
+     * Steps a crowd with both kernels from the same positions.
+     *
+     * @return the largest difference in pixels, and the number of coordinates that differed
+     */
+    private static long[] compare(PursuitKernel vector, int count, int steps) {
+        GameRandom random = new GameRandom(SEED + count);
+        DefenderStore reference = newCrowd(random, count);
+        DefenderStore candidate = newCrowd(new GameRandom(SEED + count), count);
+        long[] result = new long[2];
+        int targetX = 0;
+        int targetY = 0;
+        for (int step = 0; step < steps; step++) {
+            if (step % 50 == 0) {
+                int[] target = pickTarget(random, reference);
+                targetX = target[0];
+                targetY = target[1];
+            }
+            System.arraycopy(reference.getXs(), 0, candidate.getXs(), 0, count);
+            System.arraycopy(reference.getYs(), 0, candidate.getYs(), 0, count);
+            AIController.SCALAR_KERNEL.move(reference, 0, count, targetX, targetY, MAX_X, MAX_Y);
+            vector.move(candidate, 0, count, targetX, targetY, MAX_X, MAX_Y);
+            compareColumn(reference.getXs(), candidate.getXs(), count, result);
+            compareColumn(reference.getYs(), candidate.getYs(), count, result);
+        }
+        return result;
+    }
+
+    private static DefenderStore newCrowd(GameRandom random, int count) {
+        DefenderStore store = new DefenderStore(count);
+        for (int i = 0; i < count; i++) {
+            int index = store.add(random.nextInt(MAX_X + 1), random.nextInt(MAX_Y + 1),
+                    MIN_SPEED + random.nextInt(MAX_SPEED - MIN_SPEED + 1), 1);
+            if (random.nextInt(STUCK_ONE_IN) == 0) {
+                store.getStuckTimers()[index] = 1;
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Picks a target on the field, on a defender, or past one of the edges.
+     */
+    private static int[] pickTarget(GameRandom random, DefenderStore store) {
+        switch (random.nextInt(3)) {
+            case 0:
+                int index = random.nextInt(store.size());
+                return new int[] {store.getXs()[index], store.getYs()[index]};
+            case 1:
+                return new int[] {random.nextInt(3 * WIDTH) - WIDTH, random.nextInt(3 * HEIGHT) - HEIGHT};
+            default:
+                return new int[] {random.nextInt(WIDTH), random.nextInt(HEIGHT)};
+        }
+    }
+
+    private static void compareColumn(int[] expected, int[] actual, int count, long[] result) {
+        for (int i = 0; i < count; i++) {
+            int difference = Math.abs(expected[i] - actual[i]);
+            if (difference != 0) {
+                result[0] = Math.max(result[0], difference);
+                result[1]++;
+            }
+        }
+    }
+
+    /**
+     * Times a kernel chasing a target around the field, after a warmup that lets the JIT settle.
+     *
+     * @return nanoseconds per defender per step
+     */
+    private static double time(PursuitKernel kernel, int count) {
+        DefenderStore store = newCrowd(new GameRandom(SEED), count);
+        GameRandom random = new GameRandom(SEED);
+        run(kernel, store, random, TIMING_ROUNDS);
+        long start = System.nanoTime();
+        run(kernel, store, random, TIMING_ROUNDS);
+        return (double) (System.nanoTime() - start) / TIMING_ROUNDS / count;
+    }
+
+    /**
+     * Prints, for each crowd size, how many warmed-up steps of each kernel allocated and how much.
+     */
+    private static void reportAllocation(PursuitKernel vector) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("Allocation report skipped: per-thread allocation counting is not supported.");
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long overhead = AllocationCheck.measureOverhead(threads);
+
+        System.out.printf("%9s %25s %25s%n", "defenders", "scalar allocating steps", "vector allocating steps");
+        for (int count : COUNTS) {
+            long[] scalar = measureAllocation(AIController.SCALAR_KERNEL, count, threads, overhead);
+            long[] simd = measureAllocation(vector, count, threads, overhead);
+            System.out.printf(Locale.ROOT, "%9d %11d (%9d B) %11d (%9d B)%n", count,
+                    scalar[0], scalar[1], simd[0], simd[1]);
+        }
+    }
+
+    /**
+     * Warms a kernel up on a crowd, then steps it and counts the steps that allocated.
+     *
+     * @return the number of steps that allocated, and the bytes they allocated in total
+     */
+    private static long[] measureAllocation(PursuitKernel kernel, int count,
+            com.sun.management.ThreadMXBean threads, long overhead) {
+        DefenderStore store = newCrowd(new GameRandom(SEED), count);
+        GameRandom random = new GameRandom(SEED);
+        run(kernel, store, random, TIMING_ROUNDS);
+        long[] result = new long[2];
+        for (int step = 0; step < ALLOCATION_STEPS; step++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            kernel.move(store, 0, count, random.nextInt(WIDTH), random.nextInt(HEIGHT), MAX_X, MAX_Y);
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before - overhead;
+            if (allocated > 0) {
+                result[0]++;
+                result[1] += allocated;
+            }
+        }
+        return result;
+    }
+
+    private static void run(PursuitKernel kernel, DefenderStore store, GameRandom random, int rounds) {
+        int targetX = 0;
+        int targetY = 0;
+        for (int round = 0; round < rounds; round++) {
+            if (round % 50 == 0) {
+                targetX = random.nextInt(WIDTH);
+                targetY = random.nextInt(HEIGHT);
+            }
+            kernel.move(store, 0, store.size(), targetX, targetY, MAX_X, MAX_Y);
+        }
+    }
+}
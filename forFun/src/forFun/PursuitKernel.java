@@ -0,0 +1,26 @@
+package forFun;
+
+/**
+ * Moves a range of defenders in a {@link DefenderStore} one step straight toward a target,
+ * each at its own speed, clamped to the field. Defenders with a stuck timer stay put.
+ * {@link AIController#SCALAR_KERNEL} is the reference; other kernels may trade exactness
+ * for speed, but no coordinate may land more than {@link #TOLERANCE} pixels from where the
+ * reference puts it after the same step.
+ */
+public interface PursuitKernel {
+    /** The most a kernel may differ from the reference, in pixels per axis per step. */
+    int TOLERANCE = 1;
+
+    /**
+     * Moves the defenders with indices from {@code from} up to {@code to}.
+     *
+     * @param store the defenders
+     * @param from the first index to move
+     * @param to one past the last index to move
+     * @param targetX the x coordinate to move toward
+     * @param targetY the y coordinate to move toward
+     * @param maxX the largest x a defender may reach
+     * @param maxY the largest y a defender may reach
+     */
+    void move(DefenderStore store, int from, int to, int targetX, int targetY, int maxX, int maxY);
+}
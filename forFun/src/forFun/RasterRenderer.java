@@ -0,0 +1,201 @@
+package forFun;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * Draws the field and players by writing pixels straight into an {@code int[]} back buffer.
+ * Players, blockers, defenders and the football are rasterised once into sprites stored as
+ * runs of opaque pixels; drawing one is a clipped array copy per row, with no trip through
+ * the Java2D pipeline. The finished frame is blitted to the screen in one call.
+ * Anything else, such as text and translucent effects, is drawn with the Graphics from
+ * {@link #begin} between writing the sprites and {@link #end}.
+ */
+public class RasterRenderer {
+    private final Sprite playerSprite;
+    private final Sprite footballSprite;
+    private final Sprite blockerSprite;
+    private final Sprite defenderSprite;
+    private final CoverageMask defenderMask = new CoverageMask();
+    private BufferedImage backBuffer;
+    private int[] pixels;
+    private int width;
+    private int height;
+    private BufferedImage fieldSource;
+    private int[] fieldPixels = new int[0];
+    private Graphics2D graphics;
+
+    /**
+     * An image kept as runs of opaque pixels, row by row.
+     */
+    static final class Sprite {
+        private final int width;
+        private final int height;
+        private final int[] pixels;
+        private final int[] rowFirstRun;
+        private final int[] runStarts;
+        private final int[] runEnds;
+
+        /**
+         * Rasterises a shape by drawing it into a transparent image.
+         *
+         * @param width the image width
+         * @param height the image height
+         * @param color the shape color
+         * @param oval true for an oval filling the image, false for a rectangle
+         */
+        Sprite(int width, int height, Color color, boolean oval) {
+            this.width = width;
+            this.height = height;
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = image.createGraphics();
+            try {
+                g.setColor(color);
+                if (oval) {
+                    g.fillOval(0, 0, width, height);
+                } else {
+                    g.fillRect(0, 0, width, height);
+                }
+            } finally {
+                g.dispose();
+            }
+            pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+            rowFirstRun = new int[height + 1];
+            int[] starts = new int[width * height];
+            int[] ends = new int[width * height];
+            int runs = 0;
+            for (int row = 0; row < height; row++) {
+                rowFirstRun[row] = runs;
+                int runStart = -1;
+                for (int column = 0; column <= width; column++) {
+                    boolean opaque = column < width && (pixels[row * width + column] >>> 24) >= 0x80;
+                    if (opaque && runStart < 0) {
+                        runStart = column;
+                    } else if (!opaque && runStart >= 0) {
+                        starts[runs] = runStart;
+                        ends[runs++] = column;
+                        runStart = -1;
+                    }
+                }
+            }
+            rowFirstRun[height] = runs;
+            runStarts = Arrays.copyOf(starts, runs);
+            runEnds = Arrays.copyOf(ends, runs);
+        }
+    }
+
+    public RasterRenderer() {
+        playerSprite = new Sprite(GameConstants.PLAYER_SIZE, GameConstants.PLAYER_SIZE, GameConstants.PLAYER_RED, true);
+        footballSprite = new Sprite(GameConstants.FOOTBALL_WIDTH, GameConstants.FOOTBALL_HEIGHT,
+                GameConstants.FOOTBALL_BROWN, true);
+        blockerSprite = new Sprite(GameConstants.BLOCKER_SIZE, GameConstants.BLOCKER_SIZE, GameConstants.PLAYER_RED, false);
+        defenderSprite = new Sprite(GameConstants.DEFENDER_SIZE, GameConstants.DEFENDER_SIZE, Color.ORANGE, false);
+    }
+
+    /**
+     * Starts a frame by copying the field into the back buffer, resizing it if needed.
+     *
+     * @param field the field background, drawn at the top left
+     * @param width the frame width
+     * @param height the frame height
+     * @return graphics for the back buffer, valid until {@link #end}; do not dispose it
+     */
+    public Graphics2D begin(BufferedImage field, int width, int height) {
+        if (backBuffer == null || this.width != width || this.height != height) {
+            if (graphics != null) {
+                graphics.dispose();
+            }
+            backBuffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            pixels = ((DataBufferInt) backBuffer.getRaster().getDataBuffer()).getData();
+            graphics = backBuffer.createGraphics(); // Kept for the buffer's lifetime so frames don't allocate
+            this.width = width;
+            this.height = height;
+            fieldSource = null;
+        }
+        if (field != fieldSource) {
+            // Read the field once; grabbing its data buffer would stop Java2D caching it on the GPU
+            fieldPixels = new int[width * height];
+            field.getRGB(0, 0, Math.min(width, field.getWidth()), Math.min(height, field.getHeight()),
+                    fieldPixels, 0, width);
+            fieldSource = field;
+        }
+        System.arraycopy(fieldPixels, 0, pixels, 0, pixels.length);
+        return graphics;
+    }
+
+    /**
+     * Writes the snapshot's blockers and defenders.
+     *
+     * @param maskOverdraw how many times over the defenders must cover the frame to be written
+     *        through a coverage mask instead of one by one
+     */
+    public void drawTeams(RenderSnapshot snapshot, int maskOverdraw) {
+        int[] blockerXs = snapshot.getBlockerXs();
+        int[] blockerYs = snapshot.getBlockerYs();
+        for (int i = 0; i < snapshot.getBlockerCount(); i++) {
+            drawSprite(blockerSprite, blockerXs[i], blockerYs[i]);
+        }
+
+        int[] xs = snapshot.getDefenderXs();
+        int[] ys = snapshot.getDefenderYs();
+        int count = snapshot.getDefenderCount();
+        int size = GameConstants.DEFENDER_SIZE;
+        if ((long) count * size * size < (long) maskOverdraw * width * height) {
+            for (int i = 0; i < count; i++) {
+                drawSprite(defenderSprite, xs[i], ys[i]);
+            }
+            return;
+        }
+        defenderMask.clear(width, height);
+        for (int i = 0; i < count; i++) {
+            defenderMask.addSquare(xs[i], ys[i], size);
+        }
+        defenderMask.fill(pixels, Color.ORANGE.getRGB());
+    }
+
+    /**
+     * Writes the player and the football.
+     */
+    public void drawPlayer(Player player) {
+        drawSprite(playerSprite, player.getX(), player.getY());
+        drawSprite(footballSprite, player.getFootballX(), player.getFootballY());
+    }
+
+    /**
+     * Finishes the frame and blits it.
+     *
+     * @param g the graphics to draw the finished frame on
+     */
+    public void end(Graphics g) {
+        g.drawImage(backBuffer, 0, 0, null);
+    }
+
+    /**
+     * Copies a sprite's opaque runs into the back buffer, clipped to its edges.
+     */
+    private void drawSprite(Sprite sprite, int x, int y) {
+        int top = Math.max(0, -y);
+        int bottom = Math.min(sprite.height, height - y);
+        if (x >= width || x + sprite.width <= 0 || top >= bottom) {
+            return;
+        }
+        int minColumn = -x;
+        int maxColumn = width - x;
+        for (int row = top; row < bottom; row++) {
+            int source = row * sprite.width;
+            int target = (y + row) * width + x;
+            for (int run = sprite.rowFirstRun[row]; run < sprite.rowFirstRun[row + 1]; run++) {
+                int start = Math.max(sprite.runStarts[run], minColumn);
+                int end = Math.min(sprite.runEnds[run], maxColumn);
+                if (start < end) {
+                    System.arraycopy(sprite.pixels, source + start, pixels, target + start, end - start);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package forFun;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Locale;
+
+/**
+ * Compares the Java2D and raster renderers on the same frames.
+ * For each crowd size, an autopilot game is played once per renderer from the same seed,
+ * so both draw exactly the same sequence of snapshots into an offscreen image. Only the
+ * rendering is timed, after warmup frames that let the JIT settle.
+ *
+ * <p>Usage: {@code java forFun.RenderBenchmark [defenderCounts] [frames]}
+ * <br>e.g. {@code java forFun.RenderBenchmark 3,100,1000,10000 600}
+ */
+public class RenderBenchmark {
+    private static final String DEFAULT_DEFENDERS = "3,100,1000,3000,10000";
+    private static final int DEFAULT_FRAMES = 600;
+    private static final int WARMUP_FRAMES = 300;
+    private static final long SEED = 1L;
+
+    private final int width = GameConstants.DEFAULT_FRAME_WIDTH;
+    private final int height = GameConstants.DEFAULT_FRAME_HEIGHT;
+    private final int defenderCount;
+    private final GameSimulation simulation;
+    private final Autopilot autopilot = new Autopilot();
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+    private final Draw draw = new Draw(snapshots);
+    private final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+    private RenderBenchmark(int defenderCount, boolean raster) {
+        this.defenderCount = defenderCount;
+        GameState gameState = new GameState();
+        gameState.setHordeMode(defenderCount >= GameConstants.HORDE_WAVE_SIZE);
+        Player player = PlayerFactory.createPlayer("BENCH", gameState);
+        simulation = new GameSimulation(gameState, player, width, height, SEED);
+        draw.setRasterRendering(raster);
+        startLevel();
+    }
+
+    public static void main(String[] args) {
+        String[] counts = (args.length > 0 ? args[0] : DEFAULT_DEFENDERS).split(",");
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_FRAMES;
+
+        System.out.printf("%9s %12s %12s %12s %12s %9s%n",
+                "defenders", "java2d p50", "java2d p99", "raster p50", "raster p99", "speedup");
+        for (String count : counts) {
+            int defenders = Integer.parseInt(count.trim());
+            LatencyHistogram java2d = new RenderBenchmark(defenders, false).measure(frames);
+            LatencyHistogram raster = new RenderBenchmark(defenders, true).measure(frames);
+            System.out.printf(Locale.ROOT, "%9d %12.3f %12.3f %12.3f %12.3f %8.2fx%n", defenders,
+                    java2d.getPercentile(0.5) / 1e6, java2d.getPercentile(0.99) / 1e6,
+                    raster.getPercentile(0.5) / 1e6, raster.getPercentile(0.99) / 1e6,
+                    (double) java2d.getPercentile(0.5) / Math.max(1, raster.getPercentile(0.5)));
+        }
+    }
+
+    /**
+     * Starts a fresh level and fills it to the crowd size. Crowds smaller than a horde wave
+     * play a normal level topped up once.
+     */
+    private void startLevel() {
+        simulation.startLevel();
+        Defenders defenders = simulation.getDefenders();
+        while (defenders.getStore().size() < defenderCount) {
+            int missing = defenderCount - defenders.getStore().size();
+            defenders.spawnWave(width, height, Math.min(GameConstants.HORDE_WAVE_SIZE, missing));
+        }
+    }
+
+    /**
+     * Plays and renders frames, timing the rendering.
+     */
+    private LatencyHistogram measure(int frames) {
+        LatencyHistogram renderTimes = new LatencyHistogram();
+        Graphics2D g = image.createGraphics();
+        try {
+            for (int frame = 0; frame < WARMUP_FRAMES + frames; frame++) {
+                if (simulation.getOutcome() != GameSimulation.Outcome.RUNNING) {
+                    startLevel();
+                }
+                autopilot.apply(simulation);
+                simulation.step(1);
+                snapshots.publish(simulation, null, null);
+
+                long start = System.nanoTime();
+                draw.render(g, width, height);
+                long elapsed = System.nanoTime() - start;
+                if (frame >= WARMUP_FRAMES) {
+                    renderTimes.record(elapsed);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+        return renderTimes;
+    }
+}
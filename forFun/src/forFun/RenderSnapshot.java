@@ -0,0 +1,83 @@
+package forFun;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * Everything needed to draw one frame: entity positions, the main player's drawing state
+ * and the HUD values. Snapshots are pooled by {@link SnapshotBuffer}; the simulation fills
+ * one after a tick and never touches it again once published, so rendering reads it without locks.
+ */
+public class RenderSnapshot {
+    private final Player player = new Player("");
+    private int[] blockerXs = new int[0];
+    private int[] blockerYs = new int[0];
+    private int blockerCount;
+    private int[] defenderXs = new int[0];
+    private int[] defenderYs = new int[0];
+    private int defenderCount;
+    private int level;
+    private int score;
+    private int pointsScore;
+    private String message;
+    private Color messageColor;
+    private long tick;
+
+    /**
+     * Copies the current state of the simulation into this snapshot.
+     *
+     * @param simulation the simulation to copy
+     * @param message the message to show, or null for none
+     * @param messageColor the message color
+     * @param tick the number of ticks run so far, to tell snapshots apart
+     */
+    void capture(GameSimulation simulation, String message, Color messageColor, long tick) {
+        player.copyDrawStateFrom(simulation.getPlayer());
+
+        Offense offense = simulation.getOffense();
+        blockerCount = offense.getBlockerCount();
+        if (blockerXs.length < blockerCount) {
+            blockerXs = Arrays.copyOf(blockerXs, blockerCount);
+            blockerYs = Arrays.copyOf(blockerYs, blockerCount);
+        }
+        for (int i = 0; i < blockerCount; i++) {
+            Player blocker = offense.getBlocker(i);
+            blockerXs[i] = blocker.getX();
+            blockerYs[i] = blocker.getY();
+        }
+
+        DefenderStore store = simulation.getDefenders().getStore();
+        defenderCount = store.size();
+        if (defenderXs.length < defenderCount) {
+            defenderXs = new int[defenderCount];
+            defenderYs = new int[defenderCount];
+        }
+        System.arraycopy(store.getXs(), 0, defenderXs, 0, defenderCount);
+        System.arraycopy(store.getYs(), 0, defenderYs, 0, defenderCount);
+
+        GameState gameState = simulation.getGameState();
+        level = gameState.getLevel();
+        score = gameState.getScore();
+        pointsScore = gameState.getPointsScore();
+        this.message = message;
+        this.messageColor = messageColor;
+        this.tick = tick;
+    }
+
+    /**
+     * Gets a copy of the main player holding only what drawing needs.
+     */
+    public Player getPlayer() { return player; }
+    public int[] getBlockerXs() { return blockerXs; }
+    public int[] getBlockerYs() { return blockerYs; }
+    public int getBlockerCount() { return blockerCount; }
+    public int[] getDefenderXs() { return defenderXs; }
+    public int[] getDefenderYs() { return defenderYs; }
+    public int getDefenderCount() { return defenderCount; }
+    public int getLevel() { return level; }
+    public int getScore() { return score; }
+    public int getPointsScore() { return pointsScore; }
+    public String getMessage() { return message; }
+    public Color getMessageColor() { return messageColor; }
+    public long getTick() { return tick; }
+}
@@ -0,0 +1,249 @@
+package forFun;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.WindowConstants;
+
+/**
+ * Plays back a run recorded by {@link InputRecorder}, feeding the recorded input into a
+ * simulation created from the recorded seed. Runs headless as fast as possible, or in a
+ * window at a multiple of real time. Reports any level whose result differs from the recording.
+ *
+ * <p>Usage: {@code java forFun.ReplayPlayer <file> [speed]}, where a speed of 0 (the default)
+ * plays headless and a positive speed plays that many ticks per frame in a window.
+ */
+public class ReplayPlayer {
+    private final byte[] data;
+    private final GameSimulation simulation;
+    private int position;
+    private int runRemaining;
+    private int runMask;
+    private int levels;
+    private int mismatches;
+
+    /**
+     * Prepares a replay of the given recording.
+     *
+     * @throws IllegalArgumentException if the data is not a recording this version can read
+     */
+    public ReplayPlayer(byte[] data) {
+        this.data = data;
+        int magic = 0;
+        for (int i = 0; i < 4; i++) {
+            magic = (magic << 8) | readByte();
+        }
+        if (magic != InputRecorder.MAGIC) {
+            throw new IllegalArgumentException("Not a replay file");
+        }
+        int version = readByte();
+        if (version != InputRecorder.VERSION) {
+            throw new IllegalArgumentException("Unsupported replay version " + version);
+        }
+        long zigzag = readVarLong();
+        long seed = (zigzag >>> 1) ^ -(zigzag & 1);
+        int nameLength = readVarInt();
+        String playerName = new String(data, position, nameLength, StandardCharsets.UTF_8);
+        position += nameLength;
+
+        GameState gameState = new GameState();
+        Player player = PlayerFactory.createPlayer(playerName, gameState);
+        simulation = new GameSimulation(gameState, player,
+                GameConstants.DEFAULT_FRAME_WIDTH, GameConstants.DEFAULT_FRAME_HEIGHT, seed);
+    }
+
+    /**
+     * Runs the next recorded tick, reading any level and field records before it.
+     *
+     * @return false once the recording has ended
+     */
+    public boolean advance() {
+        while (runRemaining == 0) {
+            if (position >= data.length) {
+                return false;
+            }
+            int tag = readByte();
+            switch (tag) {
+                case InputRecorder.TAG_END:
+                    return false;
+                case InputRecorder.TAG_LEVEL_START:
+                    readLevelStart();
+                    break;
+                case InputRecorder.TAG_INPUT:
+                    runRemaining = readVarInt();
+                    runMask = readByte();
+                    break;
+                case InputRecorder.TAG_FIELD_SIZE:
+                    simulation.setFieldSize(readVarInt(), readVarInt());
+                    break;
+                case InputRecorder.TAG_HORDE_MODE:
+                    simulation.getGameState().setHordeMode(true);
+                    break;
+                case InputRecorder.TAG_LEVEL_END:
+                    checkLevelEnd(GameSimulation.Outcome.values()[readVarInt()], readVarInt());
+                    break;
+                default:
+                    throw new IllegalStateException("Corrupt replay: unknown record " + tag);
+            }
+        }
+
+        Player player = simulation.getPlayer();
+        player.setMovingUp((runMask & InputRecorder.UP) != 0);
+        player.setMovingDown((runMask & InputRecorder.DOWN) != 0);
+        player.setMovingLeft((runMask & InputRecorder.LEFT) != 0);
+        player.setMovingRight((runMask & InputRecorder.RIGHT) != 0);
+        player.setBoosting((runMask & InputRecorder.BOOST) != 0);
+        if ((runMask & InputRecorder.TRUCK) != 0) {
+            simulation.requestTruck();
+        }
+        runRemaining--;
+        simulation.step(1);
+        return true;
+    }
+
+    private void readLevelStart() {
+        GameState gameState = simulation.getGameState();
+        Player player = simulation.getPlayer();
+        gameState.restore(readVarInt(), readVarInt(), readVarInt(), readVarInt(), readVarInt(),
+                readVarInt(), readVarInt());
+        player.setSpeed(readVarInt());
+        player.setStrength(readVarInt());
+        player.setStamina(readVarInt());
+        int currentStamina = readVarInt();
+        int x = readVarInt();
+        int y = readVarInt();
+        int specialFlags = readVarInt();
+        int truckRemaining = readVarInt();
+        int cooldownRemaining = readVarInt();
+        simulation.setFieldSize(readVarInt(), readVarInt());
+
+        simulation.startLevel();
+
+        // The level setup places the player; restore what it does not
+        player.setX(x);
+        player.setY(y);
+        player.setCurrentStamina(currentStamina);
+        player.getSpecials().restoreState((specialFlags & InputRecorder.SPECIAL_UNLOCKED) != 0,
+                (specialFlags & InputRecorder.SPECIAL_ACTIVE) != 0,
+                (specialFlags & InputRecorder.SPECIAL_COOLDOWN) != 0,
+                truckRemaining, cooldownRemaining);
+        levels++;
+    }
+
+    private void checkLevelEnd(GameSimulation.Outcome outcome, int levelTicks) {
+        int level = simulation.getGameState().getLevel();
+        if (simulation.getOutcome() == GameSimulation.Outcome.LEVEL_COMPLETE) {
+            level--; // Winning already moved the game state to the next level
+        }
+        if (simulation.getOutcome() != outcome || simulation.getLevelTicks() != levelTicks) {
+            mismatches++;
+            System.err.println("Level " + level + " diverged: recorded " + outcome + " after " + levelTicks
+                    + " ticks, replayed " + simulation.getOutcome() + " after " + simulation.getLevelTicks());
+        } else {
+            System.out.println("Level " + level + ": " + outcome + " after " + levelTicks + " ticks");
+        }
+    }
+
+    public GameSimulation getSimulation() {
+        return simulation;
+    }
+
+    public int getLevels() {
+        return levels;
+    }
+
+    public int getMismatches() {
+        return mismatches;
+    }
+
+    private int readByte() {
+        return data[position++] & 0xFF;
+    }
+
+    private int readVarInt() {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java forFun.ReplayPlayer <file> [speed]");
+            System.exit(2);
+        }
+        ReplayPlayer replay = new ReplayPlayer(Files.readAllBytes(Paths.get(args[0])));
+        int speed = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+
+        if (speed <= 0) {
+            long start = System.nanoTime();
+            long ticks = 0;
+            while (replay.advance()) {
+                ticks++;
+            }
+            double millis = (System.nanoTime() - start) / 1e6;
+            replay.printSummary(ticks, millis);
+        } else {
+            SwingUtilities.invokeLater(() -> replay.playInWindow(speed));
+        }
+    }
+
+    private void printSummary(long ticks, double millis) {
+        System.out.printf("Replayed %d levels, %d ticks in %.1f ms (%.0fx real time), %d diverged%n",
+                levels, ticks, millis, ticks * GameConstants.GAME_LOOP_DELAY / Math.max(millis, 0.001),
+                mismatches);
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Plays the replay in a window, running the given number of ticks per frame.
+     */
+    private void playInWindow(int speed) {
+        JFrame frame = new JFrame("Replay");
+        frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+        frame.setSize(simulation.getFieldWidth(), simulation.getFieldHeight());
+        frame.setVisible(true);
+
+        SnapshotBuffer snapshots = new SnapshotBuffer();
+        frame.setContentPane(new Draw(snapshots));
+        frame.revalidate();
+
+        Timer timer = new Timer(GameConstants.GAME_LOOP_DELAY, null);
+        timer.addActionListener(e -> {
+            boolean running = true;
+            for (int i = 0; i < speed && running; i++) {
+                running = advance();
+            }
+            if (simulation.getOffense() != null) {
+                snapshots.publish(simulation, null, null);
+            }
+            frame.repaint();
+            if (!running) {
+                timer.stop();
+                System.out.println("Replay finished: " + levels + " levels, " + mismatches + " diverged");
+            }
+        });
+        timer.start();
+    }
+}
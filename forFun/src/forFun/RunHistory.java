@@ -0,0 +1,181 @@
+package forFun;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps every finished run, not just the top ten. Runs are appended to a history file
+ * and indexed in memory so all-time rank, top K and percentile are quick to look up.
+ * A long history takes seconds to read, so {@link #load()} runs off the event thread at
+ * startup; until it finishes, new runs are held back and lookups only see what is loaded.
+ */
+public class RunHistory {
+    private static final String RUN_HISTORY_FILE = "run-history.dat";
+    private static final String LEGACY_RUN_HISTORY_FILE = "run-history.txt";
+    private static final String BROKEN_SUFFIX = ".broken";
+
+    private static RunHistory instance;
+
+    private final Path file;
+    private final HighScoreCodec codec = new HighScoreCodec();
+    private ScoreIndex index = new ScoreIndex();
+    private List<HighScoreManager.HighScore> pending = new ArrayList<>(); // null once loaded
+    private boolean loadStarted;
+
+    private RunHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Gets the run history. It is empty until {@link #load()} has run.
+     */
+    public static synchronized RunHistory getInstance() {
+        if (instance == null) {
+            instance = new RunHistory(Paths.get(HighScoreManager.getDataFilePath(RUN_HISTORY_FILE)));
+        }
+        return instance;
+    }
+
+    /**
+     * Adds a finished run and queues it to be appended to the history file. While the
+     * history is still loading the run is held back and added once the load finishes.
+     */
+    public synchronized void record(HighScoreManager.HighScore run) {
+        if (pending != null) {
+            pending.add(run);
+            loadInBackground();
+            return;
+        }
+        add(run);
+    }
+
+    public synchronized boolean isLoaded() {
+        return pending == null;
+    }
+
+    /**
+     * Gets the all-time rank a score would have, where 1 is the best.
+     */
+    public synchronized int getRank(int score) {
+        return index.rankOf(score);
+    }
+
+    /**
+     * Gets the percentage of all runs that scored at or below the given score.
+     */
+    public synchronized double getPercentile(int score) {
+        return index.percentileOf(score);
+    }
+
+    /**
+     * Gets the best runs of all time, best first.
+     */
+    public synchronized List<HighScoreManager.HighScore> getTop(int k) {
+        return index.top(k);
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Starts {@link #load()} on its own thread, for when nothing loaded the history at startup.
+     */
+    public synchronized void loadInBackground() {
+        if (!loadStarted) {
+            Thread thread = new Thread(this::load, "RunHistory-Load");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Reads the history file and then adds any runs recorded in the meantime. Only the first
+     * call does anything. Blocks until the file is read, so keep it off the event thread.
+     */
+    public void load() {
+        synchronized (this) {
+            if (loadStarted) {
+                return;
+            }
+            loadStarted = true;
+        }
+        // Read without holding the lock so record() never waits on the disk
+        ScoreIndex loaded = new ScoreIndex();
+        List<HighScoreManager.HighScore> seed = new ArrayList<>();
+        read(loaded, seed);
+        synchronized (this) {
+            index = loaded;
+            for (HighScoreManager.HighScore run : seed) {
+                // A run held back while loading may also have reached the top ten already
+                if (!containsSame(pending, run)) {
+                    add(run);
+                }
+            }
+            for (HighScoreManager.HighScore run : pending) {
+                add(run);
+            }
+            pending = null;
+        }
+    }
+
+    private void add(HighScoreManager.HighScore run) {
+        index.add(run);
+        HighScoreWriter.getInstance().append(file, codec.encodeRecord(run));
+    }
+
+    private static boolean containsSame(List<HighScoreManager.HighScore> runs, HighScoreManager.HighScore run) {
+        for (HighScoreManager.HighScore other : runs) {
+            if (other == run) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the history file into the index. When there is no usable file, writes a new header
+     * and puts the runs to start it off with into the seed list instead.
+     */
+    private void read(ScoreIndex loaded, List<HighScoreManager.HighScore> seed) {
+        try {
+            if (Files.exists(file)) {
+                try {
+                    long validLength = codec.read(file, loaded::add);
+                    if (validLength < Files.size(file)) {
+                        // Cut off a partial record so new runs are appended after a whole one
+                        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                            channel.truncate(validLength);
+                        }
+                    }
+                    return;
+                } catch (HighScoreCodec.BadHeaderException e) {
+                    // A crash during the first append can tear the header; appending to that file
+                    // would leave every later run unreadable, so set it aside and start over
+                    Path broken = file.resolveSibling(file.getFileName() + BROKEN_SUFFIX);
+                    System.err.println("Run history " + file + " is unreadable (" + e.getMessage()
+                            + "), moving it to " + broken);
+                    Files.move(file, broken, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            HighScoreWriter.getInstance().append(file, codec.encodeHeader());
+            Path legacyFile = file.resolveSibling(LEGACY_RUN_HISTORY_FILE);
+            if (Files.exists(legacyFile)) {
+                System.out.println("Converting run history from " + legacyFile);
+                HighScoreCodec.readLegacy(legacyFile, seed::add);
+            } else {
+                // Start the history off with the existing top ten
+                seed.addAll(HighScoreManager.getInstance().getHighScores());
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading run history from " + file + ": " + e.getMessage());
+        }
+    }
+}
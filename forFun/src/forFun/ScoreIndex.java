@@ -0,0 +1,162 @@
+package forFun;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Order-statistic index over runs, highest score first, ties broken by whichever run came first.
+ * It is a treap kept in parallel arrays: every node knows the size of its subtree, so rank,
+ * selection and percentile queries take O(log n) expected time even with millions of runs.
+ * Node 0 is the empty sentinel.
+ */
+public class ScoreIndex {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long PRIORITY_SEED = 0x5C0BE5L;
+
+    private final GameRandom random = new GameRandom(PRIORITY_SEED);
+    private int[] left = new int[INITIAL_CAPACITY];
+    private int[] right = new int[INITIAL_CAPACITY];
+    private int[] size = new int[INITIAL_CAPACITY];
+    private int[] priority = new int[INITIAL_CAPACITY];
+    private int[] score = new int[INITIAL_CAPACITY];
+    private HighScoreManager.HighScore[] entries = new HighScoreManager.HighScore[INITIAL_CAPACITY];
+    private int count;
+    private int root;
+
+    /**
+     * Adds a run to the index.
+     */
+    public void add(HighScoreManager.HighScore entry) {
+        int node = ++count;
+        if (node == left.length) {
+            grow();
+        }
+        score[node] = entry.getScore();
+        entries[node] = entry;
+        priority[node] = (int) random.nextLong();
+        size[node] = 1;
+        root = insert(root, node);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the rank a score would have, where 1 is the best. Ties share the better rank.
+     */
+    public int rankOf(int s) {
+        return countAbove(s) + 1;
+    }
+
+    /**
+     * Gets the percentage of runs that scored at or below the given score.
+     *
+     * @return a value from 0 to 100, or 0 if there are no runs
+     */
+    public double percentileOf(int s) {
+        if (count == 0) {
+            return 0;
+        }
+        return 100.0 * (count - countAbove(s)) / count;
+    }
+
+    /**
+     * Gets the run at the given rank.
+     *
+     * @param rank the rank, from 1 to {@link #size()}
+     */
+    public HighScoreManager.HighScore get(int rank) {
+        if (rank < 1 || rank > count) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " of " + count);
+        }
+        int node = root;
+        int k = rank;
+        while (true) {
+            int leftSize = size[left[node]];
+            if (k <= leftSize) {
+                node = left[node];
+            } else if (k == leftSize + 1) {
+                return entries[node];
+            } else {
+                k -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    /**
+     * Gets the best runs, best first.
+     *
+     * @param k the maximum number of runs to return
+     */
+    public List<HighScoreManager.HighScore> top(int k) {
+        int n = Math.min(k, count);
+        List<HighScoreManager.HighScore> result = new ArrayList<>(n);
+        for (int rank = 1; rank <= n; rank++) {
+            result.add(get(rank));
+        }
+        return result;
+    }
+
+    private int countAbove(int s) {
+        int above = 0;
+        int node = root;
+        while (node != 0) {
+            if (score[node] > s) {
+                above += size[left[node]] + 1;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+        return above;
+    }
+
+    private int insert(int node, int added) {
+        if (node == 0) {
+            return added;
+        }
+        // Newer runs always have a larger node number, so equal scores go after older ones
+        if (score[added] > score[node]) {
+            left[node] = insert(left[node], added);
+            if (priority[left[node]] > priority[node]) {
+                node = rotateRight(node);
+            }
+        } else {
+            right[node] = insert(right[node], added);
+            if (priority[right[node]] > priority[node]) {
+                node = rotateLeft(node);
+            }
+        }
+        size[node] = size[left[node]] + size[right[node]] + 1;
+        return node;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        size[node] = size[left[node]] + size[right[node]] + 1;
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        size[node] = size[left[node]] + size[right[node]] + 1;
+        return pivot;
+    }
+
+    private void grow() {
+        int capacity = left.length * 2;
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        size = Arrays.copyOf(size, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        score = Arrays.copyOf(score, capacity);
+        entries = Arrays.copyOf(entries, capacity);
+    }
+}
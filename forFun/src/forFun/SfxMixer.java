@@ -0,0 +1,232 @@
+package forFun;
+
+import javax.sound.sampled.*;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Plays short sound effects with low latency.
+ * Every effect is decoded into memory up front. An audio thread mixes up to
+ * {@value #MAX_VOICES} voices into one line that stays open the whole time, a few
+ * milliseconds at a time, so an effect starts within about 20 ms of being triggered.
+ * Triggering only bumps a counter, so the simulation can do it from any thread without
+ * blocking or allocating. Effects without a sound file get a synthesized tone.
+ */
+public class SfxMixer implements Runnable {
+    /**
+     * The available effects.
+     */
+    public enum Effect {
+        TACKLE(GameConstants.SFX_TACKLE_PATH),
+        BROKE_THROUGH(GameConstants.SFX_BROKE_THROUGH_PATH),
+        TRUCK(GameConstants.SFX_TRUCK_PATH),
+        LEVEL_UP(GameConstants.SFX_LEVEL_UP_PATH);
+
+        private final String path;
+
+        Effect(String path) {
+            this.path = path;
+        }
+    }
+
+    private static final int SAMPLE_RATE = 44100;
+    private static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+    private static final int BLOCK_FRAMES = 256; // About 6 ms
+    private static final int LINE_BLOCKS = 2;
+    private static final int MAX_VOICES = 8;
+    private static final int GAIN_ONE = 256;
+
+    private static final SfxMixer instance = new SfxMixer();
+
+    private final AtomicIntegerArray triggers = new AtomicIntegerArray(Effect.values().length);
+    private final short[][] samples = new short[Effect.values().length][];
+    private final int[] voiceEffect = new int[MAX_VOICES];
+    private final int[] voicePosition = new int[MAX_VOICES];
+    private final int[] mix = new int[BLOCK_FRAMES];
+    private final byte[] block = new byte[BLOCK_FRAMES * 2];
+    private volatile boolean running;
+    private volatile int gain = GAIN_ONE / 2;
+    private Thread thread;
+
+    private SfxMixer() {
+        Arrays.fill(voiceEffect, -1);
+    }
+
+    public static SfxMixer getInstance() {
+        return instance;
+    }
+
+    /**
+     * Decodes the effects and starts the audio thread. Does nothing if already started.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        Effect[] effects = Effect.values();
+        for (int i = 0; i < effects.length; i++) {
+            samples[i] = loadSample(effects[i]);
+        }
+        thread = new Thread(this, "Sfx");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Plays an effect on the next mixed block. Never blocks or allocates.
+     */
+    public void trigger(Effect effect) {
+        if (running) {
+            triggers.incrementAndGet(effect.ordinal());
+        }
+    }
+
+    /**
+     * Sets the effect volume from 0 to 1.
+     */
+    public void setVolume(float volume) {
+        gain = Math.round(Math.max(0f, Math.min(1f, volume)) * GAIN_ONE);
+    }
+
+    @Override
+    public void run() {
+        SourceDataLine line;
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, block.length * LINE_BLOCKS);
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.err.println("Sound effects unavailable: " + e.getMessage());
+            running = false;
+            return;
+        }
+        line.start();
+        while (running) {
+            startTriggeredVoices();
+            mixBlock();
+            line.write(block, 0, block.length);
+        }
+        line.close();
+    }
+
+    private void startTriggeredVoices() {
+        for (int effect = 0; effect < samples.length; effect++) {
+            // Triggers that land in the same block play once
+            if (triggers.getAndSet(effect, 0) > 0 && samples[effect].length > 0) {
+                int voice = freeVoice();
+                voiceEffect[voice] = effect;
+                voicePosition[voice] = 0;
+            }
+        }
+    }
+
+    /**
+     * Finds an idle voice, or else takes over the one that has played longest.
+     */
+    private int freeVoice() {
+        int oldest = 0;
+        for (int voice = 0; voice < MAX_VOICES; voice++) {
+            if (voiceEffect[voice] < 0) {
+                return voice;
+            }
+            if (voicePosition[voice] > voicePosition[oldest]) {
+                oldest = voice;
+            }
+        }
+        return oldest;
+    }
+
+    private void mixBlock() {
+        Arrays.fill(mix, 0);
+        for (int voice = 0; voice < MAX_VOICES; voice++) {
+            int effect = voiceEffect[voice];
+            if (effect < 0) {
+                continue;
+            }
+            short[] sample = samples[effect];
+            int position = voicePosition[voice];
+            int frames = Math.min(BLOCK_FRAMES, sample.length - position);
+            for (int i = 0; i < frames; i++) {
+                mix[i] += sample[position + i];
+            }
+            position += frames;
+            if (position >= sample.length) {
+                voiceEffect[voice] = -1;
+            }
+            voicePosition[voice] = position;
+        }
+        int g = gain;
+        for (int i = 0; i < BLOCK_FRAMES; i++) {
+            int value = (mix[i] * g) >> 8;
+            value = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+            block[2 * i] = (byte) value;
+            block[2 * i + 1] = (byte) (value >> 8);
+        }
+    }
+
+    /**
+     * Decodes an effect's sound file to the mixer format, or synthesizes a tone if it is
+     * missing or cannot be converted.
+     */
+    private short[] loadSample(Effect effect) {
+        URL url = getClass().getResource(effect.path);
+        if (url != null) {
+            try (AudioInputStream in = AudioSystem.getAudioInputStream(FORMAT,
+                    AudioSystem.getAudioInputStream(url))) {
+                byte[] bytes = in.readAllBytes();
+                short[] sample = new short[bytes.length / 2];
+                for (int i = 0; i < sample.length; i++) {
+                    sample[i] = (short) ((bytes[2 * i] & 0xFF) | (bytes[2 * i + 1] << 8));
+                }
+                return sample;
+            } catch (IOException | UnsupportedAudioFileException | IllegalArgumentException e) {
+                System.err.println("Error loading sound effect " + effect.path + ": " + e.getMessage());
+            }
+        }
+        return synthesize(effect);
+    }
+
+    private static short[] synthesize(Effect effect) {
+        switch (effect) {
+            case TACKLE:
+                return tone(new double[] {110, 70}, 0.18, 18.0, true);
+            case BROKE_THROUGH:
+                return tone(new double[] {400, 900}, 0.15, 6.0, false);
+            case TRUCK:
+                return tone(new double[] {220, 220, 277, 277}, 0.3, 2.0, false);
+            case LEVEL_UP:
+            default:
+                return tone(new double[] {523, 659, 784}, 0.3, 3.0, false);
+        }
+    }
+
+    /**
+     * Makes a decaying tone whose pitch steps through the given frequencies.
+     *
+     * @param frequencies the pitch for each equal part of the tone
+     * @param seconds the length
+     * @param decay how fast the tone fades out
+     * @param noisy whether to mix in noise, for thuds
+     */
+    private static short[] tone(double[] frequencies, double seconds, double decay, boolean noisy) {
+        GameRandom noise = new GameRandom(frequencies.length);
+        int length = (int) (SAMPLE_RATE * seconds);
+        short[] sample = new short[length];
+        double phase = 0;
+        for (int i = 0; i < length; i++) {
+            double t = (double) i / length;
+            double frequency = frequencies[Math.min(frequencies.length - 1, (int) (t * frequencies.length))];
+            phase += 2 * Math.PI * frequency / SAMPLE_RATE;
+            double value = Math.sin(phase);
+            if (noisy) {
+                value = 0.6 * value + 0.4 * (noise.nextDouble() * 2 - 1);
+            }
+            double envelope = Math.exp(-decay * t) * Math.min(1.0, i / 64.0);
+            sample[i] = (short) (value * envelope * 12000);
+        }
+        return sample;
+    }
+}
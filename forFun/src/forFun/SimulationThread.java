@@ -0,0 +1,99 @@
+package forFun;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Ticks the simulation on its own thread, so modal dialogs and slow painting on the event
+ * thread cannot delay it. Ticks are scheduled against System.nanoTime(): the thread parks until
+ * just before a tick is due and spins for the last stretch, because parking alone can
+ * overshoot by a millisecond or more. After a stall it catches up a few ticks, then resyncs.
+ */
+public class SimulationThread extends GameLoop implements Runnable {
+    private static final long TICK_NANOS = GameConstants.GAME_LOOP_DELAY * 1_000_000L;
+    private static final long SPIN_NANOS = 1_000_000L;
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    private volatile boolean running;
+    private volatile boolean paused;
+    private Thread thread;
+
+    public SimulationThread(GameSimulation simulation, SnapshotBuffer snapshots, Runnable frameReady,
+            Consumer<GameSimulation.Outcome> levelEndHandler) {
+        super(simulation, snapshots, frameReady, levelEndHandler);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this, "Simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null && thread != Thread.currentThread()) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void pause() {
+        paused = true;
+    }
+
+    @Override
+    public void resume() {
+        paused = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running && !paused;
+    }
+
+    @Override
+    public void run() {
+        long nextTick = System.nanoTime();
+        while (running) {
+            if (paused) {
+                LockSupport.park(this);
+                nextTick = System.nanoTime();
+                continue;
+            }
+            waitUntil(nextTick);
+            if (!running || paused) {
+                continue;
+            }
+            if (!runTick()) {
+                running = false;
+                return;
+            }
+            nextTick += TICK_NANOS;
+            if (System.nanoTime() - nextTick > MAX_CATCH_UP_TICKS * TICK_NANOS) {
+                nextTick = System.nanoTime(); // Too far behind to catch up
+            }
+        }
+    }
+
+    private void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0 && running && !paused) {
+            if (remaining > SPIN_NANOS) {
+                LockSupport.parkNanos(this, remaining - SPIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
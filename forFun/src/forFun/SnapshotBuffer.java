@@ -0,0 +1,48 @@
+package forFun;
+
+import java.awt.Color;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Triple-buffered hand-off of render snapshots from the simulation to the renderer.
+ * The writer fills its back snapshot and swaps it into the middle slot; the reader swaps the
+ * middle slot for its front snapshot when a newer one is there. Both sides only ever do a
+ * single atomic swap, so neither waits for the other, and the reader always sees the latest
+ * complete snapshot. There must be one writer thread and one reader thread at a time.
+ */
+public class SnapshotBuffer {
+    private static final int FRESH = 4;
+
+    private final RenderSnapshot[] snapshots = {
+        new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()
+    };
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+    private long published;
+
+    /**
+     * Captures the simulation into the back snapshot and makes it the latest one.
+     *
+     * @param simulation the simulation to capture
+     * @param message the message to show, or null for none
+     * @param messageColor the message color
+     */
+    public void publish(GameSimulation simulation, String message, Color messageColor) {
+        snapshots[back].capture(simulation, message, messageColor, ++published);
+        back = middle.getAndSet(back | FRESH) & ~FRESH;
+    }
+
+    /**
+     * Gets the latest published snapshot. It stays valid until the next call.
+     *
+     * @return the latest snapshot, or null if nothing has been published yet
+     */
+    public RenderSnapshot acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & ~FRESH;
+        }
+        RenderSnapshot snapshot = snapshots[front];
+        return snapshot.getTick() > 0 ? snapshot : null;
+    }
+}
@@ -1,22 +1,24 @@
 package forFun;
 
-import javax.sound.sampled.*;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
 import java.io.IOException;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
 
 /**
  * Handles loading and playing sound effects and music tracks.
+ * Music is streamed by a {@link MusicPlayer}, so only the playing track is ever decoded.
  */
 public class SoundManager {
     private static SoundManager instance;
-    private final Map<String, Clip> soundClips;
-    private final Map<String, Clip> musicClips;
-    private Clip currentMusic;
+    private final Map<String, URL> musicTracks;
+    private final MusicPlayer musicPlayer;
+    private String currentMusic;
     private boolean musicEnabled;
     private float volume;
+    private GameRandom random = new GameRandom(GameRandom.sessionSeed());
     
     // Music track names
     public static final String MUSIC_MENU = "menu";
@@ -24,12 +26,12 @@ public class SoundManager {
     public static final String[] MUSIC_GAMEPLAY = {"gameplay1", "gameplay2", "gameplay3"};
     
     private SoundManager() {
-        soundClips = new HashMap<>();
-        musicClips = new HashMap<>();
+        musicTracks = new HashMap<>();
+        musicPlayer = new MusicPlayer();
         musicEnabled = true;
         volume = 0.5f; // 50% volume by default
         loadMusic();
-        initialize();
+        musicPlayer.setVolume(volume);
     }
     
     /**
@@ -45,76 +47,34 @@ public class SoundManager {
     }
     
     /**
-     * Initializes volume settings for all clips.
-     */
-    private void initialize() {
-        for (Clip clip : musicClips.values()) {
-            setClipVolume(clip, volume);
-        }
-    }
-    
-    /**
-     * Loads all music files.
+     * Finds all music files. Nothing is decoded until a track is played.
      */
     private void loadMusic() {
-        try {
-            // Load menu music
-            loadMusicClip(MUSIC_MENU, "/sounds/menu_music.wav");
-            
-            // Load level up music
-            loadMusicClip(MUSIC_LEVEL_UP, "/sounds/level_up.wav");
-            
-            // Load gameplay music
-            loadMusicClip(MUSIC_GAMEPLAY[0], "/sounds/gameplay1.wav");
-            loadMusicClip(MUSIC_GAMEPLAY[1], "/sounds/gameplay2.wav");
-            loadMusicClip(MUSIC_GAMEPLAY[2], "/sounds/gameplay3.wav");
-        } catch (Exception e) {
-            System.err.println("Error loading music: " + e.getMessage());
-        }
+        // Menu music
+        loadMusicTrack(MUSIC_MENU, "/sounds/menu_music.wav");
+        
+        // Level up music
+        loadMusicTrack(MUSIC_LEVEL_UP, "/sounds/level_up.wav");
+        
+        // Gameplay music
+        loadMusicTrack(MUSIC_GAMEPLAY[0], "/sounds/gameplay1.wav");
+        loadMusicTrack(MUSIC_GAMEPLAY[1], "/sounds/gameplay2.wav");
+        loadMusicTrack(MUSIC_GAMEPLAY[2], "/sounds/gameplay3.wav");
     }
     
     /**
-     * Loads a music clip from the specified path.
+     * Registers a music track from the specified path.
      *
-     * @param name the name to associate with the clip
+     * @param name the name to associate with the track
      * @param path the resource path to the audio file
      */
-    private void loadMusicClip(String name, String path) {
-        AudioInputStream audioIn = null;
-        try {
-            URL url = getClass().getResource(path);
-            if (url == null) {
-                System.err.println("Music file not found: " + path);
-                return;
-            }
-            audioIn = AudioSystem.getAudioInputStream(url);
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioIn);
-            musicClips.put(name, clip);
-            setClipVolume(clip, volume);
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            System.err.println("Error loading music clip " + name + ": " + e.getMessage());
-        } finally {
-            if (audioIn != null) {
-                try {
-                    audioIn.close();
-                } catch (IOException e) {
-                    System.err.println("Error closing audio stream for " + name + ": " + e.getMessage());
-                }
-            }
-        }
-    }
-    
-    private void setClipVolume(Clip clip, float vol) {
-        if (clip != null && clip.isOpen()) {
-            try {
-                FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-                float dB = (float) (Math.log(vol == 0.0 ? 0.0001 : vol) / Math.log(10.0) * 20.0);
-                gainControl.setValue(dB);
-            } catch (IllegalArgumentException e) {
-                System.err.println("Error setting volume for clip: " + e.getMessage());
-            }
+    private void loadMusicTrack(String name, String path) {
+        URL url = getClass().getResource(path);
+        if (url == null) {
+            System.err.println("Music file not found: " + path);
+            return;
         }
+        musicTracks.put(name, url);
     }
     
     public void playMusic(String musicName, boolean loop) {
@@ -122,36 +82,35 @@ public class SoundManager {
         
         stopMusic();
         
-        currentMusic = musicClips.get(musicName);
-        if (currentMusic != null && currentMusic.isOpen()) {
-            currentMusic.setFramePosition(0);
-            if (loop) {
-                currentMusic.loop(Clip.LOOP_CONTINUOUSLY);
-            } else {
-                currentMusic.start();
-            }
+        URL track = musicTracks.get(musicName);
+        if (track != null) {
+            currentMusic = musicName;
+            musicPlayer.play(track, loop);
         }
     }
     
     public void playRandomGameplayMusic() {
         if (!musicEnabled) return;
         
-        Random rand = new Random();
-        String randomTrack = MUSIC_GAMEPLAY[rand.nextInt(MUSIC_GAMEPLAY.length)];
+        String randomTrack = MUSIC_GAMEPLAY[random.nextInt(MUSIC_GAMEPLAY.length)];
         playMusic(randomTrack, true);
     }
     
+    /**
+     * Sets the random stream used to pick gameplay tracks, normally the session's presentation stream.
+     */
+    public void setRandom(GameRandom random) {
+        this.random = random;
+    }
+    
     public void stopMusic() {
-        if (currentMusic != null && currentMusic.isRunning()) {
-            currentMusic.stop();
-        }
+        musicPlayer.stop();
     }
     
     public void setVolume(float volume) {
         this.volume = volume;
-        for (Clip clip : musicClips.values()) {
-            setClipVolume(clip, volume);
-        }
+        musicPlayer.setVolume(volume);
+        SfxMixer.getInstance().setVolume(volume);
     }
     
     public float getVolume() {
@@ -169,18 +128,30 @@ public class SoundManager {
         return musicEnabled;
     }
     
+    /**
+     * Loads the sound system and reads every track's header, so the first track starts
+     * quickly and a missing or unsupported file is reported at startup rather than mid-game.
+     * Tracks are still only decoded while they play.
+     */
     public void preloadMusic() {
-        // Clips are loaded in constructor, this method is for future expansion
+        AudioSystem.getMixerInfo();
+        for (Map.Entry<String, URL> track : musicTracks.entrySet()) {
+            try {
+                AudioSystem.getAudioFileFormat(track.getValue());
+            } catch (UnsupportedAudioFileException | IOException e) {
+                System.err.println("Cannot play music track " + track.getKey() + ": " + e.getMessage());
+            }
+        }
     }
     
     public void resumeMusic() {
-        if (!musicEnabled || currentMusic == null || !currentMusic.isOpen()) {
+        if (!musicEnabled || currentMusic == null) {
             return;
         }
         
         boolean isGameplayMusic = false;
         for (String track : MUSIC_GAMEPLAY) {
-            if (musicClips.get(track) == currentMusic) {
+            if (track.equals(currentMusic)) {
                 isGameplayMusic = true;
                 break;
             }
@@ -188,29 +159,21 @@ public class SoundManager {
         
         if (isGameplayMusic) {
             playRandomGameplayMusic();
-        } else if (!currentMusic.isRunning()) {
-            currentMusic.start();
+        } else {
+            musicPlayer.resume();
         }
     }
     
     public void cleanup() {
-        stopMusic();
-        for (Clip clip : musicClips.values()) {
-            if (clip != null && clip.isOpen()) {
-                clip.close();
-            }
-        }
-        musicClips.clear();
+        musicPlayer.close();
+        currentMusic = null;
     }
     
     public void resetMusic() {
         this.musicEnabled = true;
         this.volume = 0.5f;
-        
-        // Update volume for all music clips
-        for (Clip clip : musicClips.values()) {
-            setClipVolume(clip, this.volume);
-        }
+        musicPlayer.setVolume(this.volume);
+        SfxMixer.getInstance().setVolume(this.volume);
     }
 
     public boolean isMusicMuted() {
@@ -0,0 +1,101 @@
+package forFun;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid over the field used as a collision broadphase.
+ * Entries are identified by the caller's list index and bucketed by their top-left corner,
+ * so anything within one cell size of a point lives in the 3x3 block of cells around it.
+ * Rebuilding reuses the same arrays, so clearing and refilling every tick does not allocate.
+ */
+public class SpatialHash {
+    private final int cellSize;
+    private int columns;
+    private int rows;
+    private int[] cellHeads = new int[0];
+    private int[] ids = new int[16];
+    private int[] next = new int[16];
+    private int size;
+
+    /**
+     * Creates an empty grid.
+     *
+     * @param cellSize the width and height of a cell in pixels
+     */
+    public SpatialHash(int cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Removes all entries and sizes the grid to cover the given field.
+     *
+     * @param fieldWidth the field width in pixels
+     * @param fieldHeight the field height in pixels
+     */
+    public void clear(int fieldWidth, int fieldHeight) {
+        columns = Math.max(1, fieldWidth / cellSize + 1);
+        rows = Math.max(1, fieldHeight / cellSize + 1);
+        int cells = columns * rows;
+        if (cellHeads.length < cells) {
+            cellHeads = new int[cells];
+        }
+        Arrays.fill(cellHeads, 0, cells, -1);
+        size = 0;
+    }
+
+    /**
+     * Adds an entry at the given position.
+     *
+     * @param id the caller's index for the entry
+     * @param x the entry's x coordinate
+     * @param y the entry's y coordinate
+     */
+    public void insert(int id, int x, int y) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            next = Arrays.copyOf(next, size * 2);
+        }
+        int cell = cellRow(y) * columns + cellColumn(x);
+        ids[size] = id;
+        next[size] = cellHeads[cell];
+        cellHeads[cell] = size;
+        size++;
+    }
+
+    /**
+     * Gets the column of the cell containing an x coordinate, clamped to the grid.
+     */
+    public int cellColumn(int x) {
+        return Math.max(0, Math.min(columns - 1, x / cellSize));
+    }
+
+    /**
+     * Gets the row of the cell containing a y coordinate, clamped to the grid.
+     */
+    public int cellRow(int y) {
+        return Math.max(0, Math.min(rows - 1, y / cellSize));
+    }
+
+    /**
+     * Gets the first entry slot in a cell, or -1 if the cell is empty or outside the grid.
+     * Walk the rest of the cell with {@link #nextSlot(int)} and read ids with {@link #idAt(int)}.
+     */
+    public int firstSlot(int column, int row) {
+        if (column < 0 || row < 0 || column >= columns || row >= rows) {
+            return -1;
+        }
+        return cellHeads[row * columns + column];
+    }
+
+    public int nextSlot(int slot) {
+        return next[slot];
+    }
+
+    public int idAt(int slot) {
+        return ids[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -1,12 +1,16 @@
 package forFun;
 
 import java.awt.Color;
+import java.awt.Font;
 import java.awt.Graphics;
 
 public class Specials {
+    /** The truck cooldown in whole seconds, the most the cooldown indicator ever shows. */
+    public static final int TRUCK_COOLDOWN_SECONDS = 10;
+    
     private Player player;
     private final int truckDurationMillis = 2000;
-    private final int truckCooldownMillis = 10000;
+    private final int truckCooldownMillis = TRUCK_COOLDOWN_SECONDS * 1000;
     
     private final int truckTicks = truckDurationMillis / GameConstants.GAME_LOOP_DELAY;
     private final int cooldownTicks = truckCooldownMillis / GameConstants.GAME_LOOP_DELAY;
@@ -71,6 +75,34 @@ public class Specials {
         return (float) truckRemainingTicks / truckTicks;
     }
     
+    int getTruckRemainingTicks() {
+        return truckRemainingTicks;
+    }
+    
+    int getCooldownRemainingTicks() {
+        return cooldownRemainingTicks;
+    }
+    
+    /**
+     * Overwrites the truck state, e.g. when replaying a recorded level.
+     */
+    void restoreState(boolean unlocked, boolean truckActive, boolean truckOnCooldown, 
+            int truckRemainingTicks, int cooldownRemainingTicks) {
+        this.isUnlocked = unlocked;
+        this.isTruckActive = truckActive;
+        this.isTruckOnCooldown = truckOnCooldown;
+        this.truckRemainingTicks = truckRemainingTicks;
+        this.cooldownRemainingTicks = cooldownRemainingTicks;
+    }
+    
+    /**
+     * Copies the truck state from another player's specials.
+     */
+    void copyStateFrom(Specials source) {
+        restoreState(source.isUnlocked, source.isTruckActive, source.isTruckOnCooldown, 
+                source.truckRemainingTicks, source.cooldownRemainingTicks);
+    }
+    
     private void startTruck() {
         isTruckActive = true;
         truckRemainingTicks = truckTicks;
@@ -109,9 +141,7 @@ public class Specials {
             g.fillArc(playerX + 12, playerY - 30, 16, 10, 0, 180);
             
             // Draw "LOCKED" text
-            g.setColor(Color.GRAY);
-            g.setFont(g.getFont().deriveFont(10f));
-            g.drawString("LOCKED", playerX - 10, playerY - 35);
+            TextCache.getInstance().drawText(g, "LOCKED", playerX - 10, playerY - 35, 10f, Font.PLAIN, Color.GRAY);
         }
     }
     
@@ -124,9 +154,7 @@ public class Specials {
             g.fillOval(playerX - glowOffset, playerY - glowOffset, glowSize, glowSize);
             
             // Draw "TRUCK!" text above player
-            g.setColor(Color.ORANGE);
-            g.setFont(g.getFont().deriveFont(12f).deriveFont(java.awt.Font.BOLD));
-            g.drawString("TRUCK!", playerX - 15, playerY - 30);
+            TextCache.getInstance().drawText(g, "TRUCK!", playerX - 15, playerY - 30, 12f, Font.BOLD, Color.ORANGE);
         }
     }
     
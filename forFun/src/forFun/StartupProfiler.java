@@ -0,0 +1,115 @@
+package forFun;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records how long startup takes, in milliseconds since the JVM started.
+ * When the first game tick runs, the milestones and preload task times are printed and
+ * appended as a line to startup-times.csv in the game directory, so runs can be compared.
+ */
+public class StartupProfiler {
+    private static final String STARTUP_FILE = "startup-times.csv";
+
+    /**
+     * The points of startup that are timed.
+     */
+    public enum Milestone {
+        FRAME_VISIBLE("frame visible"),
+        MENU_INTERACTIVE("menu interactive"),
+        FIRST_TICK("first tick");
+
+        private final String label;
+
+        Milestone(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final long[] milestones = new long[Milestone.values().length];
+    private static final Map<String, Long> taskMillis = new LinkedHashMap<>();
+    private static volatile boolean firstTickSeen;
+
+    static {
+        Arrays.fill(milestones, -1);
+    }
+
+    private StartupProfiler() {
+    }
+
+    /**
+     * Records the first time a milestone is reached. Later calls are ignored.
+     */
+    public static void mark(Milestone milestone) {
+        synchronized (milestones) {
+            if (milestones[milestone.ordinal()] >= 0) {
+                return;
+            }
+            milestones[milestone.ordinal()] = ManagementFactory.getRuntimeMXBean().getUptime();
+        }
+        if (milestone == Milestone.FIRST_TICK) {
+            report();
+        }
+    }
+
+    /**
+     * Marks the first game tick. Cheap enough to call on every tick.
+     */
+    public static void markTick() {
+        if (!firstTickSeen) {
+            firstTickSeen = true;
+            mark(Milestone.FIRST_TICK);
+        }
+    }
+
+    /**
+     * Records how long a preload task took.
+     */
+    public static void recordTask(String name, long nanos) {
+        synchronized (milestones) {
+            taskMillis.put(name, nanos / 1_000_000);
+        }
+    }
+
+    private static void report() {
+        StringBuilder summary = new StringBuilder("Startup (ms since JVM start):");
+        StringBuilder csv = new StringBuilder().append(System.currentTimeMillis());
+        synchronized (milestones) {
+            for (Milestone milestone : Milestone.values()) {
+                summary.append(' ').append(milestone.label).append(' ').append(milestones[milestone.ordinal()]).append(',');
+                csv.append(',').append(milestones[milestone.ordinal()]);
+            }
+            summary.setLength(summary.length() - 1);
+            summary.append("; preload");
+            for (Map.Entry<String, Long> task : taskMillis.entrySet()) {
+                summary.append(' ').append(task.getKey()).append(' ').append(task.getValue());
+                csv.append(',').append(task.getKey()).append('=').append(task.getValue());
+            }
+        }
+        System.out.println(summary);
+
+        // Append off the calling thread, which is usually the simulation
+        Thread writer = new Thread(() -> append(csv.toString()), "StartupReport");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static void append(String line) {
+        File file = new File(HighScoreManager.getDataFilePath(STARTUP_FILE));
+        boolean isNew = !file.exists();
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file, true))) {
+            if (isNew) {
+                writer.println("epoch_ms,frame_visible_ms,menu_interactive_ms,first_tick_ms,preload_tasks_ms");
+            }
+            writer.println(line);
+        } catch (IOException e) {
+            System.err.println("Error writing startup times to " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package forFun;
+
+import java.util.function.Consumer;
+import javax.swing.Timer;
+
+/**
+ * Ticks the simulation from a Swing timer on the event thread.
+ */
+public class SwingTimerLoop extends GameLoop {
+    private final Timer timer;
+    private boolean finished;
+
+    public SwingTimerLoop(GameSimulation simulation, SnapshotBuffer snapshots, Runnable frameReady,
+            Consumer<GameSimulation.Outcome> levelEndHandler) {
+        super(simulation, snapshots, frameReady, levelEndHandler);
+        timer = new Timer(GameConstants.GAME_LOOP_DELAY, e -> tick());
+    }
+
+    private void tick() {
+        if (!runTick()) {
+            finished = true;
+            timer.stop();
+        }
+    }
+
+    @Override
+    public void start() {
+        timer.start();
+    }
+
+    @Override
+    public void stop() {
+        finished = true;
+        timer.stop();
+    }
+
+    @Override
+    public void pause() {
+        timer.stop();
+    }
+
+    @Override
+    public void resume() {
+        if (!finished) {
+            timer.start();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return timer.isRunning();
+    }
+}
@@ -0,0 +1,152 @@
+package forFun;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared cache of derived fonts and pre-rendered text labels for per-frame HUD drawing.
+ * Drawing a cached label is a single image blit instead of a font derive and text layout.
+ */
+public class TextCache {
+    private static final TextCache instance = new TextCache();
+    private static final int MAX_LABELS = 256;
+    private static final int PADDING = 2;
+
+    private final Map<Key, Font> fonts = new HashMap<>();
+    private final Map<Key, Label> labels = new HashMap<>();
+    private final Key probe = new Key();
+
+    /**
+     * Key for both caches; fonts use only the base font, size and style.
+     */
+    private static final class Key {
+        private Font base;
+        private float size;
+        private int style;
+        private String text;
+        private int rgb;
+
+        private Key set(Font base, float size, int style, String text, int rgb) {
+            this.base = base;
+            this.size = size;
+            this.style = style;
+            this.text = text;
+            this.rgb = rgb;
+            return this;
+        }
+
+        private Key copy() {
+            return new Key().set(base, size, style, text, rgb);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return size == other.size && style == other.style && rgb == other.rgb
+                    && base.equals(other.base) && (text == null ? other.text == null : text.equals(other.text));
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = base.hashCode();
+            hash = 31 * hash + Float.floatToIntBits(size);
+            hash = 31 * hash + style;
+            hash = 31 * hash + (text == null ? 0 : text.hashCode());
+            return 31 * hash + rgb;
+        }
+    }
+
+    /**
+     * A rendered label and the offset from its top edge to the text baseline.
+     */
+    private static final class Label {
+        private final BufferedImage image;
+        private final int ascent;
+
+        private Label(BufferedImage image, int ascent) {
+            this.image = image;
+            this.ascent = ascent;
+        }
+    }
+
+    private TextCache() {
+    }
+
+    public static TextCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets a font derived from the base font with the given size and style.
+     */
+    public synchronized Font getFont(Font base, float size, int style) {
+        Font font = fonts.get(probe.set(base, size, style, null, 0));
+        if (font == null) {
+            font = base.deriveFont(style, size);
+            fonts.put(probe.copy(), font);
+        }
+        return font;
+    }
+
+    /**
+     * Draws text like {@link Graphics#drawString(String, int, int)}, in a font derived from
+     * the graphics' current font, using a cached pre-rendered image of the text.
+     *
+     * @param g the graphics to draw on
+     * @param text the text to draw
+     * @param x the x coordinate of the text's left edge
+     * @param y the y coordinate of the text's baseline
+     * @param size the font size
+     * @param style the font style, e.g. Font.BOLD
+     * @param color the text color
+     */
+    public void drawText(Graphics g, String text, int x, int y, float size, int style, Color color) {
+        Label label = getLabel(g, text, size, style, color);
+        g.drawImage(label.image, x - PADDING, y - label.ascent, null);
+    }
+
+    private synchronized Label getLabel(Graphics g, String text, float size, int style, Color color) {
+        Font base = g.getFont();
+        Label label = labels.get(probe.set(base, size, style, text, color.getRGB()));
+        if (label == null) {
+            if (labels.size() >= MAX_LABELS) {
+                labels.clear();
+            }
+            Key key = probe.copy();
+            label = renderLabel(g, text, getFont(base, size, style), color);
+            labels.put(key, label);
+        }
+        return label;
+    }
+
+    private Label renderLabel(Graphics g, String text, Font font, Color color) {
+        FontMetrics metrics = g.getFontMetrics(font);
+        int width = Math.max(1, metrics.stringWidth(text) + 2 * PADDING);
+        int height = Math.max(1, metrics.getAscent() + metrics.getDescent());
+
+        GraphicsConfiguration config = g instanceof Graphics2D ? ((Graphics2D) g).getDeviceConfiguration() : null;
+        BufferedImage image = config != null
+                ? config.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D imageGraphics = image.createGraphics();
+        try {
+            imageGraphics.setFont(font);
+            imageGraphics.setColor(color);
+            imageGraphics.drawString(text, PADDING, metrics.getAscent());
+        } finally {
+            imageGraphics.dispose();
+        }
+        return new Label(image, metrics.getAscent());
+    }
+}
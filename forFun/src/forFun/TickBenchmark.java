@@ -0,0 +1,208 @@
+package forFun;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * Microbenchmarks for the simulation hot paths, reporting time and allocation per call.
+ * Each suite runs against fresh defenders and blockers for every combination of crowd sizes.
+ * Every measured round starts from a new fixture, after warmup rounds that let the JIT settle,
+ * so results are comparable between runs and a slower or allocating change shows up as a number.
+ *
+ * <p>Usage: {@code java forFun.TickBenchmark [suite|all] [defenderCounts] [blockerCounts] [rounds] [roundMillis]}
+ * <br>e.g. {@code java forFun.TickBenchmark defenders 3,100,10000 2,8 5 200}
+ */
+public class TickBenchmark {
+    private static final String DEFAULT_DEFENDERS = "3,10,100,1000,10000";
+    private static final String DEFAULT_BLOCKERS = "2,8";
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int DEFAULT_ROUND_MILLIS = 200;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int LEVEL = 5;
+    private static final long SEED = 1L;
+
+    /**
+     * The code paths that can be benchmarked.
+     */
+    public enum Suite {
+        PLAYER("player", "Player.move"),
+        OFFENSE("offense", "Offense.move"),
+        DEFENDERS("defenders", "AIController.updateDefenders"),
+        COLLISION("collision", "CollisionHandler.checkPlayerDefenderCollision"),
+        TICK("tick", "full tick");
+
+        private final String key;
+        private final String label;
+
+        Suite(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+    }
+
+    /**
+     * A field with a player, blockers and defenders to run one suite against.
+     */
+    private static class Fixture {
+        private final int width = GameConstants.DEFAULT_FRAME_WIDTH;
+        private final int height = GameConstants.DEFAULT_FRAME_HEIGHT;
+        private final Suite suite;
+        private final Player player;
+        private final Defenders defenders;
+        private final Offense offense;
+
+        Fixture(Suite suite, int defenderCount, int blockerCount, long seed) {
+            this.suite = suite;
+            GameState gameState = new GameState();
+            player = PlayerFactory.createPlayer("BENCH", gameState);
+            defenders = new Defenders(width, height, LEVEL, defenderCount, new GameRandom(seed));
+            offense = new Offense(player.getName(), width, height, defenders, player, LEVEL, blockerCount);
+            player.setMovingRight(true);
+        }
+
+        /**
+         * Runs the suite's operation the given number of times.
+         */
+        void run(int operations) {
+            for (int i = 0; i < operations; i++) {
+                if (player.getX() > width - 2 * GameConstants.PLAYER_SIZE) {
+                    player.setX(100); // Keep the player running at the defenders
+                }
+                switch (suite) {
+                    case PLAYER:
+                        player.move(width, height);
+                        break;
+                    case OFFENSE:
+                        offense.move(width, height);
+                        break;
+                    case DEFENDERS:
+                        defenders.update(player.getX(), player.getY(), width, height, offense.getBlockers());
+                        break;
+                    case COLLISION:
+                        defenders.checkCollisionWithPlayer(player.getX(), player.getY(), player);
+                        break;
+                    case TICK:
+                        offense.move(width, height);
+                        defenders.update(player.getX(), player.getY(), width, height, offense.getBlockers());
+                        player.update();
+                        defenders.checkCollisionWithPlayer(player.getX(), player.getY(), player);
+                        break;
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        String suiteArg = args.length > 0 ? args[0] : "all";
+        int[] defenderCounts = parseCounts(args.length > 1 ? args[1] : DEFAULT_DEFENDERS);
+        int[] blockerCounts = parseCounts(args.length > 2 ? args[2] : DEFAULT_BLOCKERS);
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_ROUNDS;
+        long roundNanos = (args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_ROUND_MILLIS) * 1_000_000L;
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        boolean countAllocations = threads.isThreadAllocatedMemorySupported();
+        if (countAllocations) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+
+        System.out.printf("%-48s %9s %8s %14s %10s %10s%n",
+                "benchmark", "defenders", "blockers", "ns/op", "+-", "B/op");
+        for (Suite suite : Suite.values()) {
+            if (!suiteArg.equals("all") && !suiteArg.equals(suite.key)) {
+                continue;
+            }
+            for (int defenderCount : defenderCounts) {
+                for (int blockerCount : blockerCounts) {
+                    double[] result = measure(suite, defenderCount, blockerCount, rounds, roundNanos,
+                            countAllocations ? threads : null);
+                    System.out.printf(Locale.ROOT, "%-48s %9d %8d %14.1f %10.1f %10s%n",
+                            suite.label, defenderCount, blockerCount, result[0], result[1],
+                            countAllocations ? String.format(Locale.ROOT, "%.1f", result[2]) : "n/a");
+                }
+            }
+        }
+    }
+
+    /**
+     * Measures one suite configuration.
+     *
+     * @return the mean ns per operation, its standard deviation across rounds, and bytes per operation
+     */
+    private static double[] measure(Suite suite, int defenderCount, int blockerCount, int rounds,
+            long roundNanos, com.sun.management.ThreadMXBean threads) {
+        int batch = calibrateBatch(suite, defenderCount, blockerCount);
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            runRound(new Fixture(suite, defenderCount, blockerCount, SEED + round), batch, roundNanos, null);
+        }
+
+        double[] nanosPerOp = new double[rounds];
+        double totalBytes = 0;
+        long totalOps = 0;
+        for (int round = 0; round < rounds; round++) {
+            Fixture fixture = new Fixture(suite, defenderCount, blockerCount, SEED + WARMUP_ROUNDS + round);
+            long[] roundResult = runRound(fixture, batch, roundNanos, threads);
+            nanosPerOp[round] = (double) roundResult[1] / roundResult[0];
+            totalOps += roundResult[0];
+            totalBytes += roundResult[2];
+        }
+
+        double mean = 0;
+        for (double value : nanosPerOp) {
+            mean += value;
+        }
+        mean /= rounds;
+        double variance = 0;
+        for (double value : nanosPerOp) {
+            variance += (value - mean) * (value - mean);
+        }
+        double deviation = rounds > 1 ? Math.sqrt(variance / (rounds - 1)) : 0;
+        return new double[] {mean, deviation, totalBytes / totalOps};
+    }
+
+    /**
+     * Finds how many operations take about a millisecond, so the clock is read rarely.
+     */
+    private static int calibrateBatch(Suite suite, int defenderCount, int blockerCount) {
+        Fixture fixture = new Fixture(suite, defenderCount, blockerCount, SEED);
+        int batch = 1;
+        while (batch < (1 << 24)) {
+            long start = System.nanoTime();
+            fixture.run(batch);
+            if (System.nanoTime() - start >= 1_000_000L) {
+                break;
+            }
+            batch *= 2;
+        }
+        return batch;
+    }
+
+    /**
+     * Runs whole batches until the round time is used up.
+     *
+     * @return the operations run, the nanoseconds taken and the bytes allocated
+     */
+    private static long[] runRound(Fixture fixture, int batch, long roundNanos,
+            com.sun.management.ThreadMXBean threads) {
+        long operations = 0;
+        long bytesBefore = threads != null ? threads.getCurrentThreadAllocatedBytes() : 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            fixture.run(batch);
+            operations += batch;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < roundNanos);
+        long bytes = threads != null ? threads.getCurrentThreadAllocatedBytes() - bytesBefore : 0;
+        return new long[] {operations, elapsed, bytes};
+    }
+
+    private static int[] parseCounts(String list) {
+        String[] parts = list.split(",");
+        int[] counts = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            counts[i] = Integer.parseInt(parts[i].trim());
+        }
+        return counts;
+    }
+}
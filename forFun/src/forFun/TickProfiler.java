@@ -0,0 +1,173 @@
+package forFun;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Times each phase of the game tick and of painting into latency histograms.
+ * An overlay with p50/p99/max per phase can be toggled in game, and the full
+ * histograms are written to a file when the game exits.
+ */
+public class TickProfiler {
+    /** System property overriding where the profile is written on exit. */
+    public static final String PROFILE_FILE_PROPERTY = "football.profileFile";
+    private static final String DEFAULT_PROFILE_FILE = "tick-profile.txt";
+    private static final long OVERLAY_REFRESH_NANOS = 500_000_000L;
+    private static final long FRAME_BUDGET_NANOS = GameConstants.GAME_LOOP_DELAY * 1_000_000L;
+    private static final Font OVERLAY_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color OVERLAY_BACKGROUND = new Color(0, 0, 0, 170);
+
+    private static final TickProfiler instance = new TickProfiler();
+
+    /**
+     * The timed parts of a tick and frame. INPUT is the time from a key event to the start
+     * of the tick that applied it.
+     */
+    public enum Phase {
+        INPUT("input lag"),
+        OFFENSE("offense"),
+        DEFENDERS("defenders"),
+        COLLISION("collision"),
+        TICK("tick total"),
+        HUD("hud"),
+        PAINT("paint");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+    private volatile boolean overlayVisible;
+    private String[] overlayLines = new String[0];
+    private long overlayUpdated;
+    private boolean dumpInstalled;
+
+    private TickProfiler() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public static TickProfiler getInstance() {
+        return instance;
+    }
+
+    /**
+     * Records the time a phase took.
+     */
+    public void record(Phase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    public void toggleOverlay() {
+        overlayVisible = !overlayVisible;
+    }
+
+    public boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    /**
+     * Draws the per-phase latencies in the top right corner, if the overlay is shown.
+     * The text is refreshed twice a second so the overlay does not cost much itself.
+     */
+    public void drawOverlay(Graphics g, int width) {
+        if (!overlayVisible) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - overlayUpdated > OVERLAY_REFRESH_NANOS || overlayLines.length == 0) {
+            overlayLines = buildOverlayLines();
+            overlayUpdated = now;
+        }
+
+        int lineHeight = 14;
+        int boxWidth = 330;
+        int x = width - boxWidth - 10;
+        int y = 10;
+        g.setColor(OVERLAY_BACKGROUND);
+        g.fillRect(x, y, boxWidth, lineHeight * overlayLines.length + 8);
+        g.setFont(OVERLAY_FONT);
+        g.setColor(Color.WHITE);
+        for (int i = 0; i < overlayLines.length; i++) {
+            g.drawString(overlayLines[i], x + 6, y + lineHeight * (i + 1));
+        }
+    }
+
+    private String[] buildOverlayLines() {
+        Phase[] phases = Phase.values();
+        String[] lines = new String[phases.length + 2];
+        lines[0] = String.format(Locale.ROOT, "%-11s %7s %7s %7s", "phase (ms)", "p50", "p99", "max");
+        for (Phase phase : phases) {
+            LatencyHistogram histogram = getHistogram(phase);
+            lines[phase.ordinal() + 1] = String.format(Locale.ROOT, "%-11s %7.3f %7.3f %7.3f", phase.label,
+                    histogram.getPercentile(0.5) / 1e6, histogram.getPercentile(0.99) / 1e6,
+                    histogram.getMax() / 1e6);
+        }
+        long worstFrame = getHistogram(Phase.TICK).getPercentile(0.99) + getHistogram(Phase.HUD).getPercentile(0.99)
+                + getHistogram(Phase.PAINT).getPercentile(0.99);
+        lines[lines.length - 1] = String.format(Locale.ROOT, "budget %.1f ms, p99 tick+hud+paint %.0f%%",
+                FRAME_BUDGET_NANOS / 1e6, 100.0 * worstFrame / FRAME_BUDGET_NANOS);
+        return lines;
+    }
+
+    /**
+     * Writes the profile to a file when the JVM exits, if anything was recorded.
+     */
+    public synchronized void dumpOnExit() {
+        if (dumpInstalled) {
+            return;
+        }
+        dumpInstalled = true;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (getHistogram(Phase.TICK).getCount() == 0 && getHistogram(Phase.PAINT).getCount() == 0) {
+                return;
+            }
+            File file = getProfileFile();
+            try {
+                dump(file);
+                System.out.println("Tick profile written to " + file.getAbsolutePath());
+            } catch (IOException e) {
+                System.err.println("Error writing tick profile: " + e.getMessage());
+            }
+        }, "TickProfilerDump"));
+    }
+
+    /**
+     * Writes count and percentiles for every phase to the given file.
+     */
+    public void dump(File file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(file, "UTF-8")) {
+            writer.printf(Locale.ROOT, "%-11s %10s %10s %10s %10s %10s %10s%n",
+                    "phase (ms)", "count", "p50", "p90", "p99", "p99.9", "max");
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = getHistogram(phase);
+                writer.printf(Locale.ROOT, "%-11s %10d %10.3f %10.3f %10.3f %10.3f %10.3f%n", phase.label,
+                        histogram.getCount(), histogram.getPercentile(0.5) / 1e6,
+                        histogram.getPercentile(0.9) / 1e6, histogram.getPercentile(0.99) / 1e6,
+                        histogram.getPercentile(0.999) / 1e6, histogram.getMax() / 1e6);
+            }
+        }
+    }
+
+    private static File getProfileFile() {
+        String path = System.getProperty(PROFILE_FILE_PROPERTY);
+        if (path != null) {
+            return new File(path);
+        }
+        File gameDir = HighScoreManager.getGameDirectory();
+        return new File(gameDir != null ? gameDir : new File("."), DEFAULT_PROFILE_FILE);
+    }
+}
@@ -124,12 +124,14 @@ public class UpgradeMenu {
                 player.setStamina(gameState.getPlayerStamina());
                 break;
             case GIVEUP:
-                HighScoreManager highScoreManager = new HighScoreManager();
+                HighScoreManager highScoreManager = HighScoreManager.getInstance();
                 highScoreManager.addHighScore(player.getName(), gameState.getScore(), gameState.getLevel());
+                ButtonFunctions.saveReplay();
                 
                 String highScoresText = HighScoreManager.getHighScoresTable(highScoreManager.getHighScores());
                 String message = "Game Over!\nFinal Level: " + gameState.getLevel() + 
-                               "\nFinal Score: " + gameState.getScore() + "\n\n" + highScoresText;
+                               "\nFinal Score: " + gameState.getScore() +
+                               "\n" + HighScoreManager.getAllTimeRankText(gameState.getScore()) + "\n\n" + highScoresText;
                 
                 JOptionPane.showMessageDialog(frame, message, "Game Over", JOptionPane.INFORMATION_MESSAGE);
                 frame.dispose();
@@ -151,31 +153,21 @@ public class UpgradeMenu {
         
         frame.getContentPane().removeAll();
         
-        Defenders defenders = new Defenders(frame.getWidth(), frame.getHeight(), gameState.getLevel());
-        Offense offense = new Offense(player.getName(), frame.getWidth(), frame.getHeight(), defenders, player, gameState.getLevel(), gameState.getBlockerCount());
-        Draw drawPanel = new Draw(offense, defenders);
-        
-        if (Store.isField2Purchased()) {
-            drawPanel.setUseAlternateField(true);
-        }
-        
-        drawPanel.setBounds(0, 0, frame.getWidth(), frame.getHeight());
-        frame.add(drawPanel);
+        GameSimulation simulation = ButtonFunctions.getSimulation();
+        simulation.setFieldSize(frame.getWidth(), frame.getHeight());
+        simulation.startLevel();
+        Draw drawPanel = ButtonFunctions.createDrawPanel(frame, simulation);
         
         MyLabel levelLabel = new MyLabel("Level: " + gameState.getLevel() + " | Score: " + gameState.getScore(), 16, 10, 10, 200, 30);
-        frame.add(levelLabel);
         
         MyLabel messageLabel = new MyLabel("", 16, frame.getWidth()/2 - 100, 100, 200, 30);
         messageLabel.setForeground(Color.YELLOW);
-        frame.add(messageLabel);
         
-        new InputHandler(frame, offense.getMainPlayer(), drawPanel, gameState);
+        ButtonFunctions.showPlayfield(frame, drawPanel, levelLabel, messageLabel);
         
-        // Get references to the labels for the game loop
-        MyLabel levelLabelRef = levelLabel;
-        MyLabel messageLabelRef = messageLabel;
+        new InputHandler(frame, simulation.getPlayer(), drawPanel, gameState);
         
-        ButtonFunctions.startPlayerMovement(offense, defenders, drawPanel, frame, gameState, levelLabelRef, messageLabelRef, player.getName());
+        ButtonFunctions.startPlayerMovement(simulation, drawPanel, frame, player.getName());
         
         frame.revalidate();
         frame.repaint();